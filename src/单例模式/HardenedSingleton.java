@@ -0,0 +1,43 @@
+package 单例模式;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 防反射、防反序列化复制的单例基类
+ * <p>
+ * 1. 反射：唯一的构造器要求子类传入读取 holder 字段的 Supplier，holder 的 INSTANCE 已经存在就抛出异常。
+ * 反射先于 getInstance() 调用构造器时，读取 holder 字段会先触发 holder 的初始化，
+ * holder 照常创建出唯一的实例（这次嵌套构造看到的字段仍是 null），随后反射这一次的检查失败，
+ * 所以不论谁先到，holder 持有的都是合法的实例，正常的初始化不会被破坏。
+ * 子类没有不做检查的构造器可以选择，忘不掉这一步。
+ * 2. 反序列化：readResolve() 固定返回 instance()，反序列化得到的始终是当前 JVM 中的那个实例。
+ * <p>
+ * 子类应当用第 5 种静态内部类的方式持有实例，getInstance() 只是读取一个 static final 字段，
+ * JIT 预热后会被内联成一次常量读取，检查只发生在构造时，不影响访问路径（见 SingletonInliningCheck）。
+ * 两项保证的验证见 SingletonHardeningCheck，它会检查本包中所有的子类。
+ */
+abstract class HardenedSingleton implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param holderField 读取子类 holder 中的实例字段，例如 () -> Holder.INSTANCE
+     */
+    protected HardenedSingleton(Supplier<? extends HardenedSingleton> holderField) {
+        if (Objects.requireNonNull(holderField, "holderField").get() != null) {
+            throw new IllegalStateException("Singleton already instantiated: " + getClass().getName());
+        }
+    }
+
+    /**
+     * 返回子类唯一的实例，通常直接 return getInstance()
+     */
+    protected abstract HardenedSingleton instance();
+
+    protected final Object readResolve() throws ObjectStreamException {
+        return instance();
+    }
+}
@@ -0,0 +1,18 @@
+package 单例模式;
+
+/**
+ * 1.
+ * 懒汉式
+ * 懒加载 - 线程不安全
+ */
+class Singleton {
+    private static Singleton instance;
+    private Singleton (){}
+
+    public static Singleton getInstance() {
+        if (instance == null) {
+            instance = new Singleton();
+        }
+        return instance;
+    }
+}
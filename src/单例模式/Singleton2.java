@@ -0,0 +1,17 @@
+package 单例模式;
+
+/**
+ * 2.
+ * 懒汉式
+ * 懒加载 -线程安全
+ */
+class Singleton2 {
+    private static Singleton2 instance;
+    private Singleton2 (){}
+    public static synchronized Singleton2 getInstance() {
+        if (instance == null) {
+            instance = new Singleton2();
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,14 @@
+package 单例模式;
+
+/**
+ * 3.
+ * 饿汉式
+ * 非懒加载 - 线程安全
+ */
+class Singleton3 {
+    private static Singleton3 instance = new Singleton3();
+    private Singleton3 (){}
+    public static Singleton3 getInstance() {
+        return instance;
+    }
+}
@@ -0,0 +1,30 @@
+package 单例模式;
+
+/**
+ * 4.
+ * 双检锁
+ * 懒加载 - 线程安全
+ * 这种方式采用双锁机制，安全且在多线程情况下能保持高性能。
+ *
+ * 注释：
+ * volatile具备两种特性，
+ * 第一就是保证共享变量对所有线程的可见性。将一个共享变量声明为volatile后，会有以下效应：
+ 1.当写一个volatile变量时，JMM会把该线程对应的本地内存中的变量强制刷新到主内存中去；
+ 2.这个写会操作会导致其他线程中的缓存无效。
+ 3.轻量级锁。
+ 这样Singleton赋值之后，其他线程将会立即得知。
+ */
+class Singleton4 {
+    private volatile static Singleton4 Singleton4;
+    private Singleton4 (){}
+    public static Singleton4 getSingleton4() {
+        if (Singleton4 == null) {
+            synchronized (Singleton4.class) {
+                if (Singleton4 == null) {
+                    Singleton4 = new Singleton4();
+                }
+            }
+        }
+        return Singleton4;
+    }
+}
@@ -0,0 +1,16 @@
+package 单例模式;
+
+/**
+ * 5.
+ * 登记式/静态内部类
+ * 懒加载 - 线程安全
+ */
+class Singleton5 {
+    private static class Singleton5Holder {
+        private static final Singleton5 INSTANCE = new Singleton5();
+    }
+    private Singleton5 (){}
+    public static Singleton5 getInstance() {
+        return Singleton5Holder.INSTANCE;
+    }
+}
@@ -0,0 +1,39 @@
+package 单例模式;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * 7.
+ * VarHandle 双检锁
+ * 懒加载 - 线程安全
+ * 与第 4 种相同的思路，但读用 getAcquire、写用 setRelease，
+ * 只保证发布所需的顺序，不需要 volatile 读写的全序开销。（JDK 9+）
+ */
+class Singleton7 {
+    private static final VarHandle INSTANCE;
+    private static Singleton7 instance;
+
+    static {
+        try {
+            INSTANCE = MethodHandles.lookup().findStaticVarHandle(Singleton7.class, "instance", Singleton7.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private Singleton7 (){}
+    public static Singleton7 getInstance() {
+        Singleton7 result = (Singleton7) INSTANCE.getAcquire();
+        if (result == null) {
+            synchronized (Singleton7.class) {
+                result = instance;
+                if (result == null) {
+                    result = new Singleton7();
+                    INSTANCE.setRelease(result);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package 单例模式;
+
+/**
+ * 8.
+ * 加固的登记式
+ * 懒加载 - 线程安全
+ * 与第 5 种相同，继承 HardenedSingleton 防止反射构造和反序列化产生新的实例。
+ */
+class Singleton8 extends HardenedSingleton {
+    private static final long serialVersionUID = 1L;
+
+    private static class Singleton8Holder {
+        private static final Singleton8 INSTANCE = new Singleton8();
+    }
+    private Singleton8 (){
+        super(() -> Singleton8Holder.INSTANCE);
+    }
+    public static Singleton8 getInstance() {
+        return Singleton8Holder.INSTANCE;
+    }
+
+    @Override
+    protected HardenedSingleton instance() {
+        return getInstance();
+    }
+}
@@ -0,0 +1,104 @@
+package 单例模式;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * 各种单例 getInstance() 的吞吐量对比
+ * 先单线程测量，再用与 CPU 核数相同的线程同时调用，测量竞争下的总吞吐量。
+ * 每项测量固定时长，结果为每秒调用次数（百万次）。
+ */
+public class SingletonBenchmark {
+
+    private static final long WARMUP_MILLIS = 500;
+    private static final long MEASURE_MILLIS = 1000;
+
+    static Map<String, Supplier<Object>> variants() {
+        Map<String, Supplier<Object>> variants = new LinkedHashMap<>();
+        variants.put("1 lazy (unsafe)", Singleton::getInstance);
+        variants.put("2 synchronized ", Singleton2::getInstance);
+        variants.put("3 eager        ", Singleton3::getInstance);
+        variants.put("4 DCL volatile ", Singleton4::getSingleton4);
+        variants.put("5 holder       ", Singleton5::getInstance);
+        variants.put("6 enum         ", () -> Singleton6.INSTANCE);
+        variants.put("7 VarHandle    ", Singleton7::getInstance);
+        variants.put("8 hardened     ", Singleton8::getInstance);
+        return variants;
+    }
+
+    /**
+     * 不带参数时为每种方式单独启动一个 JVM（像 JMH 的 fork 一样），
+     * 避免前一种方式的 JIT 类型剖析影响后面的测量；带参数时只测量指定的那一种。
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, Supplier<Object>> variants = variants();
+        if (args.length > 0) {
+            String name = new ArrayList<>(variants.keySet()).get(Integer.parseInt(args[0]));
+            measure(name, variants.get(name));
+            return;
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.println("variant           single (Mops/s)   " + threads + " threads (Mops/s)");
+        String java = System.getProperty("java.home") + "/bin/java";
+        String classpath = System.getProperty("java.class.path");
+        for (int i = 0; i < variants.size(); i++) {
+            Process fork = new ProcessBuilder(java, "-cp", classpath, SingletonBenchmark.class.getName(), String.valueOf(i))
+                    .inheritIO()
+                    .start();
+            fork.waitFor();
+        }
+    }
+
+    private static void measure(String name, Supplier<Object> getInstance) throws InterruptedException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        run(getInstance, 1, WARMUP_MILLIS);
+        double single = run(getInstance, 1, MEASURE_MILLIS);
+        double contended = run(getInstance, threads, MEASURE_MILLIS);
+        System.out.printf("%s   %10.1f        %10.1f%n", name, single, contended);
+    }
+
+    /**
+     * @return 所有线程合计的百万次调用/秒
+     */
+    private static double run(Supplier<Object> getInstance, int threads, long millis) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] counts = new long[threads];
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long deadline = System.nanoTime() + millis * 1_000_000;
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    /*每次检查时间之间调用多次，减少 nanoTime 的影响*/
+                    for (int i = 0; i < 1000; i++) {
+                        if (getInstance.get() == null) {
+                            throw new IllegalStateException();
+                        }
+                    }
+                    count += 1000;
+                }
+                counts[index] = count;
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            workers.get(t).join();
+            total += counts[t];
+        }
+        return total / (millis / 1000.0) / 1e6;
+    }
+}
@@ -0,0 +1,136 @@
+package 单例模式;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * 检查 HardenedSingleton 子类的防反射、防反序列化保证
+ * <p>
+ * 扫描本包在类路径上的全部类（目录或 jar），对每个具体的 HardenedSingleton 子类：
+ * 1. 在 getInstance() 之前先用反射调用私有构造器，应当失败，且之后 getInstance() 仍然可用；
+ * 2. getInstance() 之后再反射构造，同样失败；
+ * 3. 序列化再反序列化，得到的是同一个实例。
+ * 扫描时只加载不初始化，反射才是每个子类在本 JVM 中的第一次使用，所以这个检查要单独运行。
+ */
+public class SingletonHardeningCheck {
+
+    public static void main(String[] args) throws Exception {
+        List<Class<?>> types = singletonClasses();
+        boolean ok = !types.isEmpty();
+        for (Class<?> type : types) {
+            ok &= check(type);
+        }
+
+        System.out.println(ok ? "OK: " + types.size() + " hardened singleton(s) checked"
+                : "FAIL: hardened singleton guarantees do not hold");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(Class<?> type) throws Exception {
+        String name = type.getSimpleName();
+        Method getInstance;
+        try {
+            getInstance = type.getDeclaredMethod("getInstance");
+        } catch (NoSuchMethodException e) {
+            return check(name + " declares static getInstance()", false);
+        }
+        getInstance.setAccessible(true);
+
+        boolean ok = check(name + ": reflection before getInstance() is rejected", !reflect(type));
+        Object instance = getInstance.invoke(null);
+        ok &= check(name + ": getInstance() still works", instance != null && instance == getInstance.invoke(null));
+        ok &= check(name + ": reflection after getInstance() is rejected", !reflect(type));
+        ok &= check(name + ": deserialization returns the same instance", deserialize(instance) == instance);
+        return ok;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "ok   " : "FAIL ") + name);
+        return passed;
+    }
+
+    /**
+     * 本包中全部具体的 HardenedSingleton 子类，只加载不初始化，按类名排序
+     */
+    static List<Class<?>> singletonClasses() throws IOException, URISyntaxException, ClassNotFoundException {
+        String pkg = SingletonHardeningCheck.class.getPackage().getName();
+        Path location = Paths.get(SingletonHardeningCheck.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        TreeSet<String> classNames = new TreeSet<>();
+        if (Files.isDirectory(location)) {
+            Path dir = location.resolve(pkg.replace('.', '/'));
+            try (Stream<Path> files = Files.list(dir)) {
+                files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.endsWith(".class"))
+                        .forEach(name -> classNames.add(pkg + "." + name.substring(0, name.length() - ".class".length())));
+            }
+        } else {
+            String prefix = pkg.replace('.', '/') + "/";
+            try (JarFile jar = new JarFile(location.toFile())) {
+                for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                    String name = entries.nextElement().getName();
+                    if (name.startsWith(prefix) && name.endsWith(".class") && name.indexOf('/', prefix.length()) < 0) {
+                        classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                    }
+                }
+            }
+        }
+
+        List<Class<?>> types = new ArrayList<>();
+        ClassLoader loader = SingletonHardeningCheck.class.getClassLoader();
+        for (String className : classNames) {
+            Class<?> type = Class.forName(className, false, loader);
+            if (HardenedSingleton.class.isAssignableFrom(type) && !Modifier.isAbstract(type.getModifiers())) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 反射构造成功时返回 true
+     */
+    private static boolean reflect(Class<?> type) throws Exception {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        try {
+            constructor.newInstance();
+            return true;
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IllegalStateException) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private static Object deserialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package 单例模式;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 检查 getInstance() 在 JIT 预热后是否被内联
+ * <p>
+ * 不带参数时以 -XX:+PrintInlining 启动一个子 JVM 运行热点循环，
+ * 在输出中查找各个单例 getInstance() 的内联结果；带参数 hot 时就是那个热点循环本身。
+ * Singleton8 的访问路径应当和第 5 种一样被内联（inline (hot)）。
+ */
+public class SingletonInliningCheck {
+
+    private static final String[] METHODS = {
+            "Singleton5::getInstance", "Singleton8::getInstance", "Singleton2::getInstance"
+    };
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("hot")) {
+            hotLoop();
+            return;
+        }
+
+        String java = System.getProperty("java.home") + "/bin/java";
+        Process fork = new ProcessBuilder(java, "-XX:+UnlockDiagnosticVMOptions", "-XX:+PrintInlining",
+                "-cp", System.getProperty("java.class.path"), SingletonInliningCheck.class.getName(), "hot")
+                .redirectErrorStream(true)
+                .start();
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(fork.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line; (line = output.readLine()) != null; ) {
+                lines.add(line);
+            }
+        }
+        fork.waitFor();
+
+        boolean hardenedInlined = false;
+        for (String method : METHODS) {
+            String result = "not compiled";
+            for (String line : lines) {
+                if (line.contains(method)) {
+                    result = line.trim();
+                    if (line.contains("inline (hot)")) {
+                        break;
+                    }
+                }
+            }
+            System.out.println(method + " : " + result);
+            if (method.startsWith("Singleton8") && result.contains("inline (hot)")) {
+                hardenedInlined = true;
+            }
+        }
+        System.out.println(hardenedInlined ? "OK: Singleton8.getInstance() is inlined"
+                : "FAIL: Singleton8.getInstance() was not inlined");
+        if (!hardenedInlined) {
+            System.exit(1);
+        }
+    }
+
+    private static void hotLoop() {
+        long sink = 0;
+        for (int i = 0; i < 5_000_000; i++) {
+            sink += System.identityHashCode(Singleton5.getInstance()) & 1;
+            sink += System.identityHashCode(Singleton8.getInstance()) & 1;
+            sink += System.identityHashCode(Singleton2.getInstance()) & 1;
+        }
+        System.out.println("sink " + sink);
+    }
+}
@@ -0,0 +1,147 @@
+package 单例模式;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 通用的懒加载值，与第 4 种双检锁相同的写法，只是把 new 换成了 Supplier
+ * 初始化失败时异常抛给调用方，下次调用会重试。
+ */
+class Lazy<T> implements Supplier<T> {
+    private final Supplier<? extends T> supplier;
+    private volatile T value;
+
+    public Lazy(Supplier<? extends T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = supplier.get();
+                    if (result == null) {
+                        throw new IllegalStateException("Supplier returned null");
+                    }
+                    value = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isInitialized() {
+        return value != null;
+    }
+}
+
+/**
+ * 按类型登记的懒加载单例
+ * <p>
+ * 每个类型第一次 get() 时才初始化。没有全局锁：抢到初始化的线程在锁外执行 Supplier，
+ * 同时到达的其他线程等待该类型自己的 CompletableFuture，不同类型的初始化互不阻塞。
+ * 初始化失败时本次等待的调用方都会收到异常，之后的调用会重新初始化。
+ * 每个类型的初始化耗时记录在 initNanos() 中，用于排查启动慢的服务。
+ */
+class SingletonRegistry {
+
+    private final Map<Class<?>, Supplier<?>> suppliers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, List<Class<?>>> dependencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Class<?>, CompletableFuture<Object>> instances = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> initNanos = new ConcurrentHashMap<>();
+
+    public <T> void register(Class<T> type, Supplier<? extends T> supplier) {
+        register(type, supplier, new Class<?>[0]);
+    }
+
+    /**
+     * @param dependsOn 初始化 type 之前必须先初始化的类型，供 StartupInitializer 排序
+     */
+    public <T> void register(Class<T> type, Supplier<? extends T> supplier, Class<?>... dependsOn) {
+        if (suppliers.putIfAbsent(type, supplier) != null) {
+            throw new IllegalStateException("Already registered: " + type.getName());
+        }
+        dependencies.put(type, Collections.unmodifiableList(Arrays.asList(dependsOn.clone())));
+    }
+
+    public Set<Class<?>> registeredTypes() {
+        return Collections.unmodifiableSet(suppliers.keySet());
+    }
+
+    public List<Class<?>> dependencies(Class<?> type) {
+        List<Class<?>> dependsOn = dependencies.get(type);
+        return dependsOn == null ? Collections.<Class<?>>emptyList() : dependsOn;
+    }
+
+    /**
+     * 已初始化类型的初始化耗时（纳秒），未初始化时返回 null
+     */
+    public Long initNanos(Class<?> type) {
+        return initNanos.get(type);
+    }
+
+    public <T> T get(Class<T> type) {
+        CompletableFuture<Object> instance = instances.get(type);
+        if (instance == null) {
+            CompletableFuture<Object> created = new CompletableFuture<>();
+            instance = instances.putIfAbsent(type, created);
+            if (instance == null) {
+                instance = created;
+                initialize(type, created);
+            }
+        }
+        try {
+            return type.cast(instance.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private void initialize(Class<?> type, CompletableFuture<Object> instance) {
+        Supplier<?> supplier = suppliers.get(type);
+        if (supplier == null) {
+            instances.remove(type, instance);
+            instance.completeExceptionally(new IllegalArgumentException("Not registered: " + type.getName()));
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Object value = supplier.get();
+            if (value == null) {
+                throw new IllegalStateException("Supplier returned null for " + type.getName());
+            }
+            initNanos.put(type, System.nanoTime() - start);
+            instance.complete(value);
+        } catch (RuntimeException | Error e) {
+            instances.remove(type, instance);
+            instance.completeExceptionally(e);
+        }
+    }
+
+    public boolean isInitialized(Class<?> type) {
+        CompletableFuture<Object> instance = instances.get(type);
+        return instance != null && instance.isDone() && !instance.isCompletedExceptionally();
+    }
+
+    /**
+     * 已初始化类型的初始化耗时（纳秒），按耗时从长到短排列
+     */
+    public Map<Class<?>, Long> initNanos() {
+        Map<Class<?>, Long> sorted = new LinkedHashMap<>();
+        initNanos.entrySet().stream()
+                .sorted(Map.Entry.<Class<?>, Long>comparingByValue().reversed())
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
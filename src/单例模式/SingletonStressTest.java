@@ -0,0 +1,73 @@
+package 单例模式;
+
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * 类似 jcstress 的并发测试：多个线程同时第一次调用 getInstance()，检查是否得到了同一个实例
+ * <p>
+ * 单例一旦创建就无法重置，所以每一轮都用新的 ClassLoader 重新加载单例类，
+ * 让每一轮都从"尚未初始化"开始。某个方式在任意一轮中出现多个实例即判定为不安全。
+ * 注意：没有出现多个实例不能证明安全，只是在本机的这些轮次中没有观察到。
+ */
+public class SingletonStressTest {
+
+    private static final int ROUNDS = 2_000;
+    private static final int THREADS = 4;
+
+    public static void main(String[] args) throws Exception {
+        test("Singleton", "getInstance");
+        test("Singleton2", "getInstance");
+        test("Singleton3", "getInstance");
+        test("Singleton4", "getSingleton4");
+        test("Singleton5", "getInstance");
+        test("Singleton7", "getInstance");
+        /*枚举由类初始化保证唯一，没有 getInstance()，这里不再单独测试*/
+    }
+
+    private static void test(String className, String methodName) throws Exception {
+        URL classes = SingletonStressTest.class.getProtectionDomain().getCodeSource().getLocation();
+        int duplicated = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            /*父加载器为平台类加载器，单例类一定由这个新的加载器重新加载*/
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, ClassLoader.getPlatformClassLoader())) {
+                Method getInstance = loader.loadClass("单例模式." + className).getDeclaredMethod(methodName);
+                getInstance.setAccessible(true);
+                if (race(getInstance) > 1) {
+                    duplicated++;
+                }
+            }
+        }
+        System.out.printf("%-10s : %s (%d/%d rounds created more than one instance)%n",
+                className, duplicated == 0 ? "no duplicates observed" : "UNSAFE", duplicated, ROUNDS);
+    }
+
+    /**
+     * @return 本轮得到的不同实例个数
+     */
+    private static int race(Method getInstance) throws Exception {
+        Set<Object> instances = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        Thread[] threads = new Thread[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    barrier.await();
+                    instances.add(getInstance.invoke(null));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return instances.size();
+    }
+}
@@ -0,0 +1,123 @@
+package 单例模式;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 启动时按依赖关系并行初始化 SingletonRegistry 中登记的单例
+ * <p>
+ * 每个单例在它的全部依赖完成后，提交到有界线程池上初始化，互不依赖的单例并行执行。
+ * 实例通过 SingletonRegistry 内部的 CompletableFuture 发布，其他线程 get() 时一定看到初始化完成的对象。
+ * 结束后输出关键路径：按实测耗时，依赖链上累计最长的那一条决定了启动的最短时间。
+ */
+class StartupInitializer {
+
+    private final SingletonRegistry registry;
+
+    public StartupInitializer(SingletonRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 初始化全部登记的单例并返回耗时报告；依赖成环或依赖未登记时抛出 IllegalStateException
+     */
+    public String initializeAll(int threads) {
+        List<Class<?>> order = topologicalOrder();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            Map<Class<?>, CompletableFuture<Void>> done = new HashMap<>();
+            for (Class<?> type : order) {
+                List<CompletableFuture<Void>> dependsOn = new ArrayList<>();
+                for (Class<?> dependency : registry.dependencies(type)) {
+                    dependsOn.add(done.get(dependency));
+                }
+                done.put(type, CompletableFuture.allOf(dependsOn.toArray(new CompletableFuture<?>[0]))
+                        .thenRunAsync(() -> registry.get(type), executor));
+            }
+            CompletableFuture.allOf(done.values().toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+        return report(order, System.nanoTime() - start);
+    }
+
+    /**
+     * 依赖在前的顺序（深度优先），同时检查环和未登记的依赖
+     */
+    private List<Class<?>> topologicalOrder() {
+        List<Class<?>> order = new ArrayList<>();
+        Map<Class<?>, Boolean> visiting = new HashMap<>();
+        for (Class<?> type : registry.registeredTypes()) {
+            visit(type, visiting, order, new ArrayList<>());
+        }
+        return order;
+    }
+
+    private void visit(Class<?> type, Map<Class<?>, Boolean> visiting, List<Class<?>> order, List<Class<?>> path) {
+        Boolean state = visiting.get(type);
+        if (Boolean.FALSE.equals(state)) {
+            return;
+        }
+        path.add(type);
+        if (Boolean.TRUE.equals(state)) {
+            throw new IllegalStateException("Dependency cycle: " + names(path));
+        }
+        if (!registry.registeredTypes().contains(type)) {
+            throw new IllegalStateException("Not registered: " + names(path));
+        }
+        visiting.put(type, Boolean.TRUE);
+        for (Class<?> dependency : registry.dependencies(type)) {
+            visit(dependency, visiting, order, path);
+        }
+        visiting.put(type, Boolean.FALSE);
+        path.remove(path.size() - 1);
+        order.add(type);
+    }
+
+    private String report(List<Class<?>> order, long wallNanos) {
+        /*按依赖顺序计算每个单例最早完成的时间，以及到达它的最长依赖链*/
+        Map<Class<?>, Long> finish = new HashMap<>();
+        Map<Class<?>, Class<?>> previous = new HashMap<>();
+        Class<?> last = null;
+        for (Class<?> type : order) {
+            long ready = 0;
+            for (Class<?> dependency : registry.dependencies(type)) {
+                if (finish.get(dependency) > ready) {
+                    ready = finish.get(dependency);
+                    previous.put(type, dependency);
+                }
+            }
+            Long own = registry.initNanos(type);
+            finish.put(type, ready + (own == null ? 0 : own));
+            if (last == null || finish.get(type) > finish.get(last)) {
+                last = type;
+            }
+        }
+
+        List<String> path = new ArrayList<>();
+        for (Class<?> type = last; type != null; type = previous.get(type)) {
+            Long own = registry.initNanos(type);
+            path.add(type.getSimpleName() + " (" + (own == null ? 0 : own / 1_000_000) + " ms)");
+        }
+        Collections.reverse(path);
+
+        return "Initialized " + order.size() + " singletons in " + wallNanos / 1_000_000 + " ms\n"
+                + "Critical path: " + String.join(" -> ", path)
+                + " = " + (last == null ? 0 : finish.get(last) / 1_000_000) + " ms";
+    }
+
+    private static String names(List<Class<?>> path) {
+        List<String> names = new ArrayList<>();
+        for (Class<?> type : path) {
+            names.add(type.getSimpleName());
+        }
+        return String.join(" -> ", names);
+    }
+}
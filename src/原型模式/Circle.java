@@ -0,0 +1,24 @@
+package 原型模式;
+
+class Circle extends Shape {
+
+    private static final long serialVersionUID = 1L;
+
+    public Circle() {
+        type = "Circle";
+    }
+
+    private Circle(Circle source) {
+        super(source);
+    }
+
+    @Override
+    public Circle copy() {
+        return new Circle(this);
+    }
+
+    @Override
+    public void draw() {
+        System.out.println("Inside Circle::draw() method.");
+    }
+}
@@ -0,0 +1,11 @@
+package 原型模式;
+
+/**
+ * 拷贝构造中单个字段的拷贝策略
+ */
+enum CopyPolicy {
+    /*新对象与原对象共享同一个引用，适合不可变的值*/
+    SHARED,
+    /*新对象得到该字段的独立副本，见 Shape.deepCopy()*/
+    DEEP
+}
@@ -0,0 +1,81 @@
+package 原型模式;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于本地文件的数据来源，每行格式：id,type，例如 1,Circle
+ * 每次 open() 读取并解析一遍文件，解析结果只属于那一次预热，各批次的 load() 共用它，不再重复读文件。
+ */
+class FileShapeSource implements ShapeSource {
+
+    private final Path path;
+
+    public FileShapeSource(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public Session open() {
+        final Map<String, String> types = Collections.unmodifiableMap(readAll());
+        return new Session() {
+            @Override
+            public List<String> ids() {
+                return new ArrayList<String>(types.keySet());
+            }
+
+            @Override
+            public Map<String, Shape> load(List<String> shapeIds) {
+                Map<String, Shape> shapes = new HashMap<String, Shape>();
+                for (String shapeId : shapeIds) {
+                    String type = types.get(shapeId);
+                    if (type != null) {
+                        Shape shape = newShape(type);
+                        shape.setId(shapeId);
+                        shapes.put(shapeId, shape);
+                    }
+                }
+                return shapes;
+            }
+        };
+    }
+
+    private Map<String, String> readAll() {
+        Map<String, String> types = new LinkedHashMap<String, String>();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                if (fields.length != 2) {
+                    throw new IllegalArgumentException("Bad shape line: " + line);
+                }
+                types.put(fields[0].trim(), fields[1].trim());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return types;
+    }
+
+    static Shape newShape(String type) {
+        if (type.equalsIgnoreCase("Circle")) {
+            return new Circle();
+        } else if (type.equalsIgnoreCase("Square")) {
+            return new Square();
+        } else if (type.equalsIgnoreCase("Rectangle")) {
+            return new Rectangle();
+        }
+        throw new IllegalArgumentException("Unknown shape type: " + type);
+    }
+}
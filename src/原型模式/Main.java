@@ -1,6 +1,13 @@
 package 原型模式;
 
-import java.util.Hashtable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 原型模式（Prototype Pattern）是用于创建重复的对象，同时又能保证性能。
@@ -27,114 +34,10 @@ import java.util.Hashtable;
  *
  * 注意事项：与通过对一个类进行实例化来构造新对象不同的是，原型模式是通过拷贝一个现有对象生成新对象的。
  * 浅拷贝实现 Cloneable，重写，深拷贝是通过实现 Serializable 读取二进制流。
+ * 也可以用拷贝构造 + copy() 方法逐字段复制，不依赖 Cloneable，也没有序列化的开销，
+ * 三种方式的对比见 ShapeCopyBenchmark。copy() 是手写的，每个字段共享引用还是深拷贝由 copyPolicy() 决定。
  */
 
-abstract class Shape implements Cloneable {
-    private String id;
-    protected String type;
-
-    abstract void draw();
-
-    public String getId() {
-        return id;
-    }
-
-    public String getType() {
-        return type;
-    }
-
-    public void setId(String id) {
-        this.id = id;
-    }
-
-    /**
-     * 注意这里的 clone() is public
-     * 关于 Cloneable CLoneTest.java 说明。
-     *
-     * @return
-     * @throws CloneNotSupportedException
-     */
-    @Override
-    public Object clone() {
-        Object clone = null;
-        try {
-            clone = super.clone();
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-        }
-
-        return clone;
-    }
-}
-
-class Rectangle extends Shape {
-
-    public Rectangle() {
-        type = "Rectangle";
-    }
-
-    @Override
-    public void draw() {
-        System.out.println("Inside Rectangle::draw() method.");
-    }
-}
-
-class Square extends Shape {
-
-    public Square() {
-        type = "Square";
-    }
-
-    @Override
-    public void draw() {
-        System.out.println("Inside Square::draw() method.");
-    }
-}
-
-class Circle extends Shape {
-
-    public Circle() {
-        type = "Circle";
-    }
-
-    @Override
-    public void draw() {
-        System.out.println("Inside Circle::draw() method.");
-    }
-}
-
-/**
- * 一个需要从数据库获取的实体类
- */
-class ShapeCache {
-    private static Hashtable<String, Shape> shapeMap = new Hashtable<String, Shape>();
-
-    public static Shape getShape(String shapeId) {
-        Shape cachedShape = shapeMap.get(shapeId);
-
-        /*以克隆的方式传递出去*/
-        return (Shape) cachedShape.clone();
-    }
-
-    public static void loadCache() {
-
-        /*模拟已经从数据库获取数据*/
-        Circle circle = new Circle();
-        circle.setId("1");
-        shapeMap.put(circle.getId(), circle);
-
-        Square square = new Square();
-        square.setId("2");
-        shapeMap.put(square.getId(), square);
-
-        Rectangle rectangle = new Rectangle();
-        rectangle.setId("3");
-
-        shapeMap.put(rectangle.getId(), rectangle);
-    }
-
-}
-
 public class Main {
     public static void main(String[] args) {
         ShapeCache.loadCache();
@@ -147,7 +50,53 @@ public class Main {
 
         Shape clonedShape3 = (Shape) ShapeCache.getShape("3");
         System.out.println("Shape : " + clonedShape3.getType());
+
+        /*只读视图：读取不拷贝，要修改时才复制，缓存中的原型不受影响*/
+        ShapeView view = ShapeCache.view("1");
+        Shape modified = view.mutableCopy();
+        modified.setId("10");
+        System.out.println("Shape : " + view.getType() + " " + modified.getId()
+                + ", prototype id : " + ShapeCache.view("1").getId() + ", same view : " + (view == ShapeCache.view("1")));
+
+        /*池模式：归还后的对象会被下一次 getShape 复用*/
+        ShapePool pool = new ShapePool(16, 1024, true);
+        ShapeCache.setPool(pool);
+        Shape pooled = ShapeCache.getShape("2");
+        pooled.setId("20");
+        ShapeCache.release(pooled);
+        Shape reused = ShapeCache.getShape("2");
+        System.out.println("Shape : " + reused.getType() + " " + reused.getId() + ", reused : " + (reused == pooled));
+        ShapeCache.release(reused);
+        System.out.println(pool);
+        ShapeCache.setPool(null);
+
+        /*未命中时按需加载*/
+        ShapeCache.getRegistry().setLoader(shapeId -> {
+            Circle circle = new Circle();
+            circle.setId(shapeId);
+            return circle;
+        });
+        Shape loadedShape = ShapeCache.getShape("4");
+        System.out.println("Shape : " + loadedShape.getType() + " " + loadedShape.getId());
+        System.out.println(ShapeCache.getRegistry());
+
+        /*从文件异步预热，完成后整体替换注册表的内容*/
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Path file = Files.createTempFile("shapes", ".csv");
+            Files.write(file, Arrays.asList("5,Square", "6,Rectangle", "7,Circle"), StandardCharsets.UTF_8);
+            ShapeWarmer warmer = ShapeCache.warmer(new FileShapeSource(file), executor, 2);
+            warmer.warmUp().join();
+            Shape warmedShape = ShapeCache.getShape("6");
+            System.out.println("Shape : " + warmedShape.getType() + " " + warmedShape.getId()
+                    + ", ready : " + warmer.isReady() + ", last reload : " + warmer.getLastReloadState());
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            executor.shutdown();
+        }
+        System.out.println(ShapeCache.getRegistry());
     }
 }
 
-
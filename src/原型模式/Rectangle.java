@@ -0,0 +1,24 @@
+package 原型模式;
+
+class Rectangle extends Shape {
+
+    private static final long serialVersionUID = 1L;
+
+    public Rectangle() {
+        type = "Rectangle";
+    }
+
+    private Rectangle(Rectangle source) {
+        super(source);
+    }
+
+    @Override
+    public Rectangle copy() {
+        return new Rectangle(this);
+    }
+
+    @Override
+    public void draw() {
+        System.out.println("Inside Rectangle::draw() method.");
+    }
+}
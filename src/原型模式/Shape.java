@@ -0,0 +1,93 @@
+package 原型模式;
+
+import java.io.Serializable;
+
+abstract class Shape implements Cloneable, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String id;
+    protected String type;
+
+    protected Shape() {
+    }
+
+    /**
+     * 拷贝构造：逐字段直接赋值，不经过反射和 Object.clone()
+     * 每个字段经过 copyField()，按 source 的 copyPolicy() 共享引用或深拷贝；子类的拷贝构造对自己的字段也这样做。
+     */
+    protected Shape(Shape source) {
+        this.id = copyField(source, "id", source.id);
+        this.type = copyField(source, "type", source.type);
+    }
+
+    /**
+     * 字段的拷贝策略，默认全部共享；有可变字段的子类按字段名返回 DEEP
+     */
+    protected CopyPolicy copyPolicy(String field) {
+        return CopyPolicy.SHARED;
+    }
+
+    /**
+     * DEEP 字段的复制方式：Shape 用 copy()，String 不可变直接共享，其他类型由子类覆盖这个方法处理
+     */
+    protected Object deepCopy(String field, Object value) {
+        if (value == null || value instanceof String) {
+            return value;
+        }
+        if (value instanceof Shape) {
+            return ((Shape) value).copy();
+        }
+        throw new UnsupportedOperationException("No deep copy for field " + field + " of " + getClass().getSimpleName());
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static <T> T copyField(Shape source, String field, T value) {
+        return source.copyPolicy(field) == CopyPolicy.DEEP ? (T) source.deepCopy(field, value) : value;
+    }
+
+    public abstract void draw();
+
+    /**
+     * 不依赖 Cloneable 的拷贝，ShapeCache 通过它创建新对象
+     */
+    public abstract Shape copy();
+
+    /**
+     * 把池中回收的实例重置为原型的状态，见 ShapePool
+     */
+    void reset(Shape prototype) {
+        this.id = copyField(prototype, "id", prototype.id);
+        this.type = copyField(prototype, "type", prototype.type);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 注意这里的 clone() is public
+     * 关于 Cloneable CLoneTest.java 说明。
+     *
+     * @return
+     * @throws CloneNotSupportedException
+     */
+    @Override
+    public Object clone() {
+        Object clone = null;
+        try {
+            clone = super.clone();
+        } catch (CloneNotSupportedException e) {
+            e.printStackTrace();
+        }
+
+        return clone;
+    }
+}
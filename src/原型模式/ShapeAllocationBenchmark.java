@@ -0,0 +1,60 @@
+package 原型模式;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 只读调用方的分配量对比：getShape 拷贝 vs view 只读视图
+ * 用 com.sun.management.ThreadMXBean 统计当前线程分配的字节数，只读调用方只访问 getType()。
+ * 注意：调用方内联后，拷贝也可能被逃逸分析消除，此时 bytes/op 接近 0；view 不分配对象。
+ */
+public class ShapeAllocationBenchmark {
+
+    private static final int WARMUP = 2_000_000;
+    private static final int OPERATIONS = 10_000_000;
+
+    /**
+     * 不带参数时为 copy 和 view 各启动一个 JVM 运行，避免两种路径共用同一份 JIT 类型剖析；
+     * 参数 copy 或 view 时只测量那一种。
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            String java = System.getProperty("java.home") + "/bin/java";
+            String classpath = System.getProperty("java.class.path");
+            for (String mode : new String[]{"copy", "view"}) {
+                new ProcessBuilder(java, "-cp", classpath, ShapeAllocationBenchmark.class.getName(), mode)
+                        .inheritIO()
+                        .start()
+                        .waitFor();
+            }
+            return;
+        }
+        boolean view = args[0].equalsIgnoreCase("view");
+        ShapeCache.loadCache();
+        report(view ? "view" : "copy", view);
+    }
+
+    private static void report(String name, boolean view) {
+        run(WARMUP, view);
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        int sink = run(OPERATIONS, view);
+        long elapsed = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+        System.out.printf("%s : %.1f bytes/op, %.1f ns/op (%d)%n",
+                name, (double) bytes / OPERATIONS, (double) elapsed / OPERATIONS, sink);
+    }
+
+    private static int run(int operations, boolean view) {
+        int sink = 0;
+        for (int i = 0; i < operations; i++) {
+            String type = view ? ShapeCache.view("1").getType() : ShapeCache.getShape("1").getType();
+            sink += type.length();
+        }
+        return sink;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,105 @@
+package 原型模式;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 一个需要从数据库获取的实体类
+ */
+class ShapeCache {
+    private static final ShapeRegistry registry = new ShapeRegistry();
+    private static volatile ShapePool pool;
+
+    public static Shape getShape(String shapeId) {
+        Shape cachedShape = registry.get(shapeId);
+
+        ShapePool pool = ShapeCache.pool;
+        if (pool != null) {
+            /*短生命周期的对象从池中复用，用完调用 release()*/
+            return pool.acquire(cachedShape);
+        }
+
+        /*以拷贝的方式传递出去*/
+        return cachedShape.copy();
+    }
+
+    /**
+     * 只读访问：返回原型的只读视图，不拷贝也不分配，需要修改时调用 ShapeView.mutableCopy()
+     */
+    public static ShapeView view(String shapeId) {
+        return registry.view(shapeId);
+    }
+
+    /**
+     * 池模式下归还 getShape 得到的对象，非池模式下什么也不做
+     */
+    public static void release(Shape shape) {
+        ShapePool pool = ShapeCache.pool;
+        if (pool != null) {
+            pool.release(shape);
+        }
+    }
+
+    /**
+     * 设置对象池，传入 null 关闭池模式
+     */
+    public static void setPool(ShapePool pool) {
+        ShapeCache.pool = pool;
+    }
+
+    public static ShapeRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * 从数据源异步预热，替代逐个同步加载的 loadCache()
+     */
+    public static ShapeWarmer warmer(ShapeSource source, Executor executor, int batchSize) {
+        return new ShapeWarmer(registry, source, executor, batchSize);
+    }
+
+    /**
+     * 把当前注册表写成快照文件，下次启动用 loadSnapshot() 代替 loadCache()
+     * 注册表由快照按需加载时，还没被访问过（或已被淘汰）的原型只在快照里，
+     * 先从快照补齐，再用注册表中的原型覆盖，避免重新保存时丢失数据。
+     */
+    public static void saveSnapshot(Path path) throws IOException {
+        Map<String, Shape> prototypes = registry.prototypes();
+        ShapeLoader loader = registry.getLoader();
+        if (loader instanceof ShapeSnapshot) {
+            Map<String, Shape> merged = ((ShapeSnapshot) loader).loadAll();
+            merged.putAll(prototypes);
+            prototypes = merged;
+        }
+        ShapeSnapshot.write(prototypes, path);
+    }
+
+    /**
+     * 映射快照文件，原型在第一次 getShape 时才解码
+     */
+    public static ShapeSnapshot loadSnapshot(Path path) throws IOException {
+        ShapeSnapshot snapshot = ShapeSnapshot.open(path);
+        registry.setLoader(snapshot);
+        return snapshot;
+    }
+
+    public static void loadCache() {
+
+        /*模拟已经从数据库获取数据*/
+        Circle circle = new Circle();
+        circle.setId("1");
+        registry.put(circle.getId(), circle);
+
+        Square square = new Square();
+        square.setId("2");
+        registry.put(square.getId(), square);
+
+        Rectangle rectangle = new Rectangle();
+        rectangle.setId("3");
+
+        registry.put(rectangle.getId(), rectangle);
+    }
+
+}
@@ -0,0 +1,59 @@
+package 原型模式;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * 三种拷贝方式的耗时对比：copy() 逐字段复制、Object.clone()、序列化深拷贝
+ */
+public class ShapeCopyBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int OPERATIONS = 1_000_000;
+
+    interface Copier {
+        Shape copy(Shape shape);
+    }
+
+    public static void main(String[] args) {
+        Circle circle = new Circle();
+        circle.setId("1");
+
+        report("copy()        ", circle, Shape::copy);
+        report("Object.clone()", circle, shape -> (Shape) shape.clone());
+        report("serialization ", circle, ShapeCopyBenchmark::serialCopy);
+    }
+
+    private static void report(String name, Shape shape, Copier copier) {
+        run(shape, copier, WARMUP);
+        long start = System.nanoTime();
+        int sink = run(shape, copier, OPERATIONS);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s : %.1f ns/op (%d)%n", name, (double) elapsed / OPERATIONS, sink);
+    }
+
+    private static int run(Shape shape, Copier copier, int operations) {
+        int sink = 0;
+        for (int i = 0; i < operations; i++) {
+            sink += copier.copy(shape).getId().length();
+        }
+        return sink;
+    }
+
+    static Shape serialCopy(Shape shape) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(shape);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return (Shape) in.readObject();
+            }
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
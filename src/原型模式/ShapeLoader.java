@@ -0,0 +1,9 @@
+package 原型模式;
+
+/**
+ * 缓存未命中时加载原型，例如从数据库读取
+ * 找不到时返回 null
+ */
+interface ShapeLoader {
+    Shape load(String shapeId);
+}
@@ -0,0 +1,139 @@
+package 原型模式;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 原型实例的对象池
+ * <p>
+ * 按 Shape 的具体类型分池：每个线程有自己的本地栈，本地栈满了就放入共享的溢出队列，
+ * 本地栈空时再从溢出队列取。取出时用原型的状态重置实例，调用方用完后调用 release() 归还。
+ * <p>
+ * debug 模式下记录每个借出实例的借出位置，可以通过 outstandingAcquisitions() 找出未归还的实例，
+ * 重复归还会抛出 IllegalStateException。
+ */
+class ShapePool {
+
+    private final int localCapacity;
+    private final int overflowCapacity;
+    private final boolean debug;
+
+    private final ThreadLocal<Map<Class<?>, ArrayDeque<Shape>>> local = new ThreadLocal<Map<Class<?>, ArrayDeque<Shape>>>() {
+        @Override
+        protected Map<Class<?>, ArrayDeque<Shape>> initialValue() {
+            return new HashMap<Class<?>, ArrayDeque<Shape>>();
+        }
+    };
+    private final ConcurrentHashMap<Class<?>, Queue<Shape>> overflow = new ConcurrentHashMap<Class<?>, Queue<Shape>>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final Map<Shape, Throwable> outstanding = new ConcurrentHashMap<Shape, Throwable>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder released = new LongAdder();
+
+    public ShapePool(int localCapacity, int overflowCapacity, boolean debug) {
+        if (localCapacity < 0 || overflowCapacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.localCapacity = localCapacity;
+        this.overflowCapacity = overflowCapacity;
+        this.debug = debug;
+    }
+
+    /**
+     * 取出一个与 prototype 状态相同的实例，池中没有时才拷贝
+     */
+    public Shape acquire(Shape prototype) {
+        Class<?> type = prototype.getClass();
+        Shape shape = local(type).pollFirst();
+        if (shape == null) {
+            Queue<Shape> shared = overflow.get(type);
+            shape = shared == null ? null : shared.poll();
+            if (shape != null) {
+                overflowSize.decrementAndGet();
+            }
+        }
+
+        if (shape != null) {
+            hits.increment();
+            shape.reset(prototype);
+        } else {
+            misses.increment();
+            shape = prototype.copy();
+        }
+
+        acquired.increment();
+        if (debug) {
+            outstanding.put(shape, new Throwable("Shape acquired here"));
+        }
+        return shape;
+    }
+
+    /**
+     * 归还实例，之后调用方不能再使用它
+     */
+    public void release(Shape shape) {
+        if (debug && outstanding.remove(shape) == null) {
+            throw new IllegalStateException("Shape was not acquired from this pool or already released: " + shape);
+        }
+        released.increment();
+
+        ArrayDeque<Shape> stack = local(shape.getClass());
+        if (stack.size() < localCapacity) {
+            stack.addFirst(shape);
+        } else if (overflowSize.incrementAndGet() <= overflowCapacity) {
+            overflow.computeIfAbsent(shape.getClass(), type -> new ConcurrentLinkedQueue<Shape>()).offer(shape);
+        } else {
+            /*池已满，交给 GC*/
+            overflowSize.decrementAndGet();
+        }
+    }
+
+    private ArrayDeque<Shape> local(Class<?> type) {
+        Map<Class<?>, ArrayDeque<Shape>> stacks = local.get();
+        ArrayDeque<Shape> stack = stacks.get(type);
+        if (stack == null) {
+            stack = new ArrayDeque<Shape>();
+            stacks.put(type, stack);
+        }
+        return stack;
+    }
+
+    /**
+     * 命中率：从池中取到实例的比例
+     */
+    public double hitRate() {
+        long hits = this.hits.sum();
+        long total = hits + misses.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * 已借出尚未归还的实例数
+     */
+    public long outstandingCount() {
+        return acquired.sum() - released.sum();
+    }
+
+    /**
+     * debug 模式下未归还实例的借出位置，非 debug 模式下为空
+     */
+    public Collection<Throwable> outstandingAcquisitions() {
+        return new ArrayList<Throwable>(outstanding.values());
+    }
+
+    @Override
+    public String toString() {
+        return "ShapePool{hitRate=" + String.format("%.2f", hitRate()) + ", outstanding=" + outstandingCount() + "}";
+    }
+}
@@ -0,0 +1,278 @@
+package 原型模式;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 并发的原型注册表
+ * <p>
+ * 基于 ConcurrentHashMap，读取不加锁；可以设置容量上限，超出时淘汰最久未访问的原型（近似 LRU）。
+ * 未命中时通过 ShapeLoader 按需加载，并统计命中、未命中、淘汰次数。
+ * <p>
+ * 访问顺序保存在按访问排序的 LinkedHashMap 中，写入和淘汰都在 lock 下进行，淘汰一项是 O(1)。
+ * 没有设置容量上限时读取不记录访问。设置了上限时，命中只把 Entry 放进按线程分条的环形缓冲区，
+ * 不碰全局的锁和 LinkedHashMap；缓冲区在写入/淘汰时于 lock 下回放到访问顺序中。
+ * 缓冲区满了或 CAS 冲突时直接丢弃这次记录（有损），读线程不会等待，代价是 LRU 只是近似的。
+ */
+class ShapeRegistry {
+
+    /*整体替换快照时直接换引用，正在读的线程继续使用旧的 Map*/
+    private volatile ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    /*lock 保护：entries 的写入和 accessOrder 的全部操作*/
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> accessOrder = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+    private final ReadBuffer[] readBuffers = newReadBuffers();
+    private volatile int maximumSize = Integer.MAX_VALUE;
+    private volatile ShapeLoader loader;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private static class Entry {
+        final String id;
+        final Shape prototype;
+        /*每个原型只创建一次视图，view() 不再分配*/
+        final ShapeView view;
+
+        Entry(String id, Shape prototype) {
+            this.id = id;
+            this.prototype = prototype;
+            this.view = new ShapeView(prototype);
+        }
+    }
+
+    /**
+     * 返回原型本身（不克隆），找不到时抛出 IllegalArgumentException
+     */
+    public Shape get(String shapeId) {
+        return entry(shapeId).prototype;
+    }
+
+    /**
+     * 返回原型的只读视图，找不到时抛出 IllegalArgumentException
+     */
+    public ShapeView view(String shapeId) {
+        return entry(shapeId).view;
+    }
+
+    private Entry entry(String shapeId) {
+        ConcurrentHashMap<String, Entry> entries = this.entries;
+        Entry entry = entries.get(shapeId);
+        if (entry != null) {
+            hits.increment();
+            if (maximumSize != Integer.MAX_VALUE) {
+                recordAccess(entry);
+            }
+            return entry;
+        }
+        misses.increment();
+
+        ShapeLoader loader = this.loader;
+        if (loader != null) {
+            entry = entries.computeIfAbsent(shapeId, id -> {
+                Shape loaded = loader.load(id);
+                return loaded == null ? null : new Entry(id, loaded);
+            });
+        }
+        if (entry == null) {
+            throw new IllegalArgumentException("Unknown shape id: " + shapeId);
+        }
+        lock.lock();
+        try {
+            /*期间可能已被 remove 或 replaceAll，只登记仍在表中的那一项*/
+            if (this.entries.get(shapeId) == entry) {
+                accessOrder.put(shapeId, entry);
+                evictIfNeeded();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    /**
+     * 用一组新的原型原子地替换全部内容，读取方不会看到半新半旧的状态
+     */
+    public void replaceAll(Map<String, Shape> prototypes) {
+        ConcurrentHashMap<String, Entry> snapshot = new ConcurrentHashMap<String, Entry>(prototypes.size() * 2);
+        for (Map.Entry<String, Shape> prototype : prototypes.entrySet()) {
+            snapshot.put(prototype.getKey(), new Entry(prototype.getKey(), prototype.getValue()));
+        }
+        lock.lock();
+        try {
+            entries = snapshot;
+            accessOrder.clear();
+            accessOrder.putAll(snapshot);
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String shapeId, Shape prototype) {
+        Entry entry = new Entry(shapeId, prototype);
+        lock.lock();
+        try {
+            entries.put(shapeId, entry);
+            accessOrder.put(shapeId, entry);
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(String shapeId) {
+        lock.lock();
+        try {
+            entries.remove(shapeId);
+            accessOrder.remove(shapeId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前全部原型（不克隆），用于导出快照
+     */
+    public Map<String, Shape> prototypes() {
+        Map<String, Shape> prototypes = new HashMap<String, Shape>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            prototypes.put(entry.getKey(), entry.getValue().prototype);
+        }
+        return prototypes;
+    }
+
+    /**
+     * 调用方持有 lock；先回放读缓冲区，再从访问顺序的头部淘汰，每项 O(1)
+     */
+    private void evictIfNeeded() {
+        drainReadBuffers();
+        Iterator<Map.Entry<String, Entry>> eldest = accessOrder.entrySet().iterator();
+        while (entries.size() > maximumSize && eldest.hasNext()) {
+            Map.Entry<String, Entry> victim = eldest.next();
+            eldest.remove();
+            if (entries.remove(victim.getKey(), victim.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * 按线程选一个分条记录这次命中；缓冲区满时尝试顺手回放，拿不到锁就丢弃
+     */
+    private void recordAccess(Entry entry) {
+        ReadBuffer buffer = readBuffers[(int) Thread.currentThread().getId() & (readBuffers.length - 1)];
+        if (!buffer.offer(entry) && lock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /*调用方持有 lock*/
+    private void drainReadBuffers() {
+        for (ReadBuffer buffer : readBuffers) {
+            buffer.drainTo(accessOrder);
+        }
+    }
+
+    private static ReadBuffer[] newReadBuffers() {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1) << 1;
+        ReadBuffer[] buffers = new ReadBuffer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            buffers[i] = new ReadBuffer();
+        }
+        return buffers;
+    }
+
+    /**
+     * 有损的环形读缓冲区：多个读线程 CAS 写入，持有 lock 的线程单独消费
+     */
+    private static final class ReadBuffer {
+        private static final int SIZE = 16;
+
+        private final AtomicReferenceArray<Entry> slots = new AtomicReferenceArray<Entry>(SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        /*只由持有 lock 的线程推进，volatile 让读线程判断是否已满*/
+        private volatile long reads;
+
+        boolean offer(Entry entry) {
+            long write = writes.get();
+            if (write - reads >= SIZE || !writes.compareAndSet(write, write + 1)) {
+                return false;
+            }
+            slots.lazySet((int) (write & (SIZE - 1)), entry);
+            return true;
+        }
+
+        void drainTo(LinkedHashMap<String, Entry> accessOrder) {
+            long write = writes.get();
+            long read = reads;
+            for (; read < write; read++) {
+                int index = (int) (read & (SIZE - 1));
+                Entry entry = slots.get(index);
+                if (entry == null) {
+                    /*写入方已占位但还没写入，下次再回放*/
+                    break;
+                }
+                slots.lazySet(index, null);
+                /*get 把这一项移到访问顺序的末尾；已被删除或淘汰的 id 不在表中，get 什么也不做*/
+                accessOrder.get(entry.id);
+            }
+            reads = read;
+        }
+    }
+
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        lock.lock();
+        try {
+            this.maximumSize = maximumSize;
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setLoader(ShapeLoader loader) {
+        this.loader = loader;
+    }
+
+    public ShapeLoader getLoader() {
+        return loader;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ShapeRegistry{size=" + size() + ", hits=" + hitCount() + ", misses=" + missCount()
+                + ", evictions=" + evictionCount() + "}";
+    }
+}
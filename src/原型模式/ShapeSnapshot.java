@@ -0,0 +1,253 @@
+package 原型模式;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 原型注册表的二进制快照
+ * <p>
+ * 文件格式（大端）：
+ * <pre>
+ * header : int magic 'SHPC' | int version | int count | int crc32(magic..count 与 slots)
+ * slots  : count 个 int recordOffset，按 id 的 UTF-8 字节序排列
+ * records: { int crc32(其后的字段) | short idLength | id (UTF-8) | short typeLength | type (UTF-8) }
+ * </pre>
+ * recordOffset 相对文件开头。打开时校验头部和 slots 的 CRC（每个原型 4 字节），不读记录，
+ * 耗时与记录部分的大小无关；查找时在映射的 slots 上二分，命中后校验这一条记录的 CRC，
+ * 并确认记录中的 id 就是要找的 id，再解码，因此可以直接作为 ShapeLoader 使用。
+ */
+class ShapeSnapshot implements ShapeLoader {
+
+    static final int MAGIC = 0x53485043;
+    static final int VERSION = 3;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 4;
+    /*索引 CRC 覆盖的头部字段：magic、version、count*/
+    private static final int HEADER_CRC_OFFSET = 12;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final Path path;
+
+    private ShapeSnapshot(ByteBuffer buffer, int count, Path path) {
+        this.buffer = buffer;
+        this.count = count;
+        this.path = path;
+    }
+
+    public static void write(Map<String, Shape> prototypes, Path path) throws IOException {
+        /*每项为 { id, type }，按 id 的无符号字节序排列，和 load 时的二分比较一致*/
+        byte[][][] records = new byte[prototypes.size()][][];
+        int recordsSize = 0;
+        int i = 0;
+        for (Map.Entry<String, Shape> prototype : prototypes.entrySet()) {
+            records[i] = new byte[][]{utf8(prototype.getKey()), utf8(prototype.getValue().getType())};
+            recordsSize += recordSize(records[i]);
+            i++;
+        }
+        Arrays.sort(records, (left, right) -> Arrays.compareUnsigned(left[0], right[0]));
+
+        int slotsSize = 4 * records.length;
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + slotsSize + recordsSize);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(records.length);
+        int recordOffset = HEADER_SIZE + slotsSize;
+        out.putInt(0);
+        for (byte[][] record : records) {
+            out.putInt(recordOffset);
+            recordOffset += recordSize(record);
+        }
+        out.putInt(HEADER_CRC_OFFSET, indexCrc(out, records.length));
+        for (byte[][] record : records) {
+            int start = out.position();
+            out.putInt(0);
+            putString(out, record[0]);
+            putString(out, record[1]);
+            out.putInt(start, (int) crc(out, start + 4, out.position()));
+        }
+
+        /*先写临时文件再改名，避免进程中途退出留下半个快照*/
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, out.array());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 映射快照并校验头部和 slots，格式错误或校验失败时抛出 IOException
+     * 记录本身的损坏在读取那条记录时才能发现，见 load()
+     */
+    public static ShapeSnapshot open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a shape snapshot: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported shape snapshot version " + version + ": " + path);
+        }
+        int count = buffer.getInt(8);
+        if (count < 0 || count > (buffer.capacity() - HEADER_SIZE) / 4) {
+            throw new IOException("Bad shape snapshot slot count " + count + ": " + path);
+        }
+        if (buffer.getInt(HEADER_CRC_OFFSET) != indexCrc(buffer, count)) {
+            throw new IOException("Shape snapshot index checksum mismatch: " + path);
+        }
+        return new ShapeSnapshot(buffer, count, path);
+    }
+
+    /**
+     * 按需解码一个原型，快照中没有时返回 null
+     * 命中的记录 CRC 不符时抛出 UncheckedIOException。
+     */
+    @Override
+    public Shape load(String shapeId) {
+        byte[] id = shapeId.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int cmp = compareId(recordOffset(middle), id);
+            if (cmp < 0) {
+                low = middle + 1;
+            } else if (cmp > 0) {
+                high = middle - 1;
+            } else {
+                Shape shape = decode(recordOffset(middle));
+                if (!shape.getId().equals(shapeId)) {
+                    throw corrupted();
+                }
+                return shape;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解码全部原型，用于重新保存快照时补上还没被访问过的原型
+     */
+    public Map<String, Shape> loadAll() {
+        Map<String, Shape> prototypes = new HashMap<String, Shape>(count * 2);
+        for (int i = 0; i < count; i++) {
+            Shape shape = decode(recordOffset(i));
+            prototypes.put(shape.getId(), shape);
+        }
+        return prototypes;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private int recordOffset(int slot) {
+        int offset = buffer.getInt(HEADER_SIZE + 4 * slot);
+        if (offset < HEADER_SIZE || offset > buffer.capacity() - 8) {
+            throw corrupted();
+        }
+        return offset;
+    }
+
+    /*与目标 id 按无符号字节序比较，不解码字符串*/
+    private int compareId(int offset, byte[] id) {
+        int length = buffer.getShort(offset + 4);
+        int start = offset + 6;
+        if (length < 0 || start + length > buffer.capacity()) {
+            throw corrupted();
+        }
+        int common = Math.min(length, id.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Integer.compare(buffer.get(start + i) & 0xff, id[i] & 0xff);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return Integer.compare(length, id.length);
+    }
+
+    private Shape decode(int offset) {
+        ByteBuffer record = buffer.duplicate();
+        int expected;
+        String id;
+        String type;
+        try {
+            record.position(offset);
+            expected = record.getInt();
+            id = getString(record);
+            type = getString(record);
+        } catch (RuntimeException e) {
+            /*长度字段损坏时会越界，统一报告为快照损坏*/
+            UncheckedIOException corrupted = corrupted();
+            corrupted.addSuppressed(e);
+            throw corrupted;
+        }
+        if (expected != (int) crc(buffer, offset + 4, record.position())) {
+            throw corrupted();
+        }
+        Shape shape = FileShapeSource.newShape(type);
+        shape.setId(id);
+        return shape;
+    }
+
+    private UncheckedIOException corrupted() {
+        return new UncheckedIOException(new IOException("Shape snapshot is corrupted: " + path));
+    }
+
+    private static int recordSize(byte[][] record) {
+        return 4 + 2 + record[0].length + 2 + record[1].length;
+    }
+
+    private static int indexCrc(ByteBuffer buffer, int count) {
+        CRC32 crc = new CRC32();
+        ByteBuffer index = buffer.duplicate();
+        index.position(0);
+        index.limit(HEADER_CRC_OFFSET);
+        crc.update(index);
+        index.limit(HEADER_SIZE + 4 * count);
+        index.position(HEADER_SIZE);
+        crc.update(index);
+        return (int) crc.getValue();
+    }
+
+    private static long crc(ByteBuffer buffer, int from, int to) {
+        ByteBuffer body = buffer.duplicate();
+        body.position(from);
+        body.limit(to);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return crc.getValue();
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for snapshot: " + value);
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer out, byte[] bytes) {
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package 原型模式;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 启动耗时对比：逐个加载原型（模拟数据库）vs 映射快照文件
+ * 计时从开始加载到第一次 getShape 返回为止。
+ */
+public class ShapeSnapshotBenchmark {
+
+    private static final int SHAPES = 200_000;
+    /*模拟每次数据库读取的开销*/
+    private static final long LOAD_NANOS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        long start = System.nanoTime();
+        ShapeRegistry cold = new ShapeRegistry();
+        cold.replaceAll(loadFromDatabase());
+        cold.get("0");
+        long coldNanos = System.nanoTime() - start;
+
+        Path path = Files.createTempFile("shapes", ".snapshot");
+        ShapeSnapshot.write(cold.prototypes(), path);
+
+        start = System.nanoTime();
+        ShapeRegistry warm = new ShapeRegistry();
+        warm.setLoader(ShapeSnapshot.open(path));
+        warm.get("0");
+        long snapshotNanos = System.nanoTime() - start;
+
+        System.out.printf("cold load : %.1f ms%n", coldNanos / 1e6);
+        System.out.printf("snapshot  : %.1f ms (%d bytes)%n", snapshotNanos / 1e6, Files.size(path));
+        Files.delete(path);
+    }
+
+    private static Map<String, Shape> loadFromDatabase() {
+        String[] types = {"Circle", "Square", "Rectangle"};
+        Map<String, Shape> prototypes = new HashMap<String, Shape>();
+        for (int i = 0; i < SHAPES; i++) {
+            long until = System.nanoTime() + LOAD_NANOS;
+            while (System.nanoTime() < until) {
+                /*忙等，模拟一次查询*/
+            }
+            Shape shape = FileShapeSource.newShape(types[i % types.length]);
+            shape.setId(String.valueOf(i));
+            prototypes.put(shape.getId(), shape);
+        }
+        return prototypes;
+    }
+}
@@ -0,0 +1,29 @@
+package 原型模式;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 原型的数据来源，例如数据库
+ */
+interface ShapeSource {
+
+    /**
+     * 开始一次预热：取得一份不可变的数据视图，这次预热的全部批次都从它加载。
+     * 重叠的预热各自持有自己的 Session，互不影响。
+     */
+    Session open();
+
+    interface Session {
+
+        /**
+         * 全部需要预热的原型 id
+         */
+        List<String> ids();
+
+        /**
+         * 批量加载，返回 id -> 原型，找不到的 id 不放入结果
+         */
+        Map<String, Shape> load(List<String> shapeIds);
+    }
+}
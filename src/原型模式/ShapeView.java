@@ -0,0 +1,37 @@
+package 原型模式;
+
+/**
+ * 原型的只读视图（写时复制）
+ * <p>
+ * 注册表为每个原型创建一个视图，放入或加载原型时创建一次，之后 ShapeCache.view() 每次返回同一个视图，
+ * 读取不分配任何对象。视图只有读取方法，拿不到背后的原型，因此调用方无法修改缓存；
+ * 需要修改时调用 mutableCopy()，这时才复制出一个独立的 Shape。
+ * 注意视图的运行时类型是 ShapeView，不是 Circle 等具体类，按类型区分请用 getType()。
+ */
+final class ShapeView {
+
+    private final Shape prototype;
+
+    ShapeView(Shape prototype) {
+        this.prototype = prototype;
+    }
+
+    public String getId() {
+        return prototype.getId();
+    }
+
+    public String getType() {
+        return prototype.getType();
+    }
+
+    public void draw() {
+        prototype.draw();
+    }
+
+    /**
+     * 写时复制的"复制"一步：返回一个与原型状态相同的独立对象，修改它不会影响缓存
+     */
+    public Shape mutableCopy() {
+        return prototype.copy();
+    }
+}
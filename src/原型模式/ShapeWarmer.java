@@ -0,0 +1,135 @@
+package 原型模式;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 异步预热/重新加载 ShapeRegistry
+ * <p>
+ * 把全部 id 按 batchSize 分批，在给定的线程池上并行加载，全部完成后一次性替换注册表的内容。
+ * 加载期间读取方继续使用旧的原型；加载失败时保留旧内容。
+ * <p>
+ * 多次 warmUp() 可以重叠，每次调用带一个递增的代号，只有最新一次的结果会写入注册表和状态：
+ * 被后来的调用取代的加载即使晚完成，也不会用旧数据覆盖新数据，或在成功之后把状态改成 FAILED。
+ * <p>
+ * isReady() 只表示注册表里是否已经装入过一份完整的数据，一旦成功就不再变回 false；
+ * 重新加载进行中或失败时旧数据仍在正常服务，这些情况由 getLastReloadState()/getLastError() 反映。
+ */
+class ShapeWarmer {
+
+    public enum ReloadState {
+        /*还没有开始过*/
+        NONE,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    private final ShapeRegistry registry;
+    private final ShapeSource source;
+    private final Executor executor;
+    private final int batchSize;
+
+    /*以下字段在 this 上同步写入*/
+    private long generation;
+    private volatile boolean ready;
+    private volatile ReloadState lastReloadState = ReloadState.NONE;
+    private volatile Throwable lastError;
+    private volatile long lastWarmUpMillis = -1;
+
+    public ShapeWarmer(ShapeRegistry registry, ShapeSource source, Executor executor, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.registry = registry;
+        this.source = source;
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 首次预热和之后的重新加载都用这个方法
+     * 被更新的调用取代时，返回的 future 正常完成，但结果被丢弃。
+     */
+    public CompletableFuture<Void> warmUp() {
+        final long start = System.nanoTime();
+        final long current;
+        synchronized (this) {
+            current = ++generation;
+            lastReloadState = ReloadState.RUNNING;
+            lastError = null;
+        }
+
+        return CompletableFuture.supplyAsync(source::open, executor)
+                .thenCompose(this::loadBatches)
+                .thenAccept(prototypes -> {
+                    synchronized (this) {
+                        if (generation == current) {
+                            registry.replaceAll(prototypes);
+                            lastWarmUpMillis = (System.nanoTime() - start) / 1_000_000;
+                            lastReloadState = ReloadState.SUCCEEDED;
+                            ready = true;
+                        }
+                    }
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        synchronized (this) {
+                            if (generation == current) {
+                                lastReloadState = ReloadState.FAILED;
+                                lastError = error;
+                            }
+                        }
+                    }
+                });
+    }
+
+    private CompletableFuture<Map<String, Shape>> loadBatches(ShapeSource.Session session) {
+        final List<String> ids = session.ids();
+        final List<CompletableFuture<Map<String, Shape>>> batches = new ArrayList<CompletableFuture<Map<String, Shape>>>();
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            final List<String> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+            batches.add(CompletableFuture.supplyAsync(() -> session.load(batch), executor));
+        }
+        return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Map<String, Shape> prototypes = new HashMap<String, Shape>(ids.size() * 2);
+                    for (CompletableFuture<Map<String, Shape>> batch : batches) {
+                        prototypes.putAll(batch.join());
+                    }
+                    return prototypes;
+                });
+    }
+
+    /**
+     * 注册表是否已经装入过一份完整的数据，可以作为就绪探针
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 最近一次 warmUp() 的状态，不影响 isReady()
+     */
+    public ReloadState getLastReloadState() {
+        return lastReloadState;
+    }
+
+    /**
+     * 最近一次 warmUp() 失败的原因，没有失败时为 null
+     */
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 最近一次成功预热的耗时，还没有成功过时为 -1
+     */
+    public long getLastWarmUpMillis() {
+        return lastWarmUpMillis;
+    }
+}
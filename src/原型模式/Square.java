@@ -0,0 +1,24 @@
+package 原型模式;
+
+class Square extends Shape {
+
+    private static final long serialVersionUID = 1L;
+
+    public Square() {
+        type = "Square";
+    }
+
+    private Square(Square source) {
+        super(source);
+    }
+
+    @Override
+    public Square copy() {
+        return new Square(this);
+    }
+
+    @Override
+    public void draw() {
+        System.out.println("Inside Square::draw() method.");
+    }
+}
@@ -0,0 +1,12 @@
+package 工厂模式;
+
+/**
+ * 产品2
+ */
+class Circle implements Shape {
+
+    @Override
+    public void draw() {
+        System.out.println("Inside Circle::draw() method.");
+    }
+}
@@ -31,75 +31,23 @@ package 工厂模式;
  * 如果使用工厂模式，就需要引入一个工厂类，会增加系统的复杂度。
  */
 
-/**
- * 抽象产品
- */
-interface Shape {
-    void draw();
-}
-
-/**
- * 产品1
- */
-class Rectangle implements Shape {
-
-    @Override
-    public void draw() {
-        System.out.println("Inside Rectangle::draw() method.");
-    }
-}
-
-/**
- * 产品2
- */
-class Circle implements Shape {
-
-    @Override
-    public void draw() {
-        System.out.println("Inside Circle::draw() method.");
-    }
-}
-
-/**
- * 产品3
- */
-class Square implements Shape {
-
-    @Override
-    public void draw() {
-        System.out.println("Inside Square::draw() method.");
-    }
-}
-
-class ShapeFactory {
-    public enum TYpe {
-        CIRCLE, SQUARE, RECTANGLE
-    }
-
-    public Shape getShape(TYpe shapeType) {
-        if (shapeType == null) {
-            return null;
-        }
-
-        if (shapeType == TYpe.CIRCLE) {
-            return new Circle();
-
-        } else if (shapeType == TYpe.RECTANGLE) {
-            return new Rectangle();
-
-        } else if (shapeType == TYpe.SQUARE) {
-            return new Square();
-        }
-
-        return null;
-    }
-}
-
 public class Main {
     public static void main(String[] args) {
         ShapeFactory factory = new ShapeFactory();
         factory.getShape(ShapeFactory.TYpe.CIRCLE).draw();
         factory.getShape(ShapeFactory.TYpe.SQUARE).draw();
         factory.getShape(ShapeFactory.TYpe.RECTANGLE).draw();
+
+        /*共享模式：无状态产品每次返回同一个实例*/
+        ShapeFactory sharedFactory = new ShapeFactory(true);
+        System.out.println(sharedFactory.getShape(ShapeFactory.TYpe.CIRCLE)
+                == sharedFactory.getShape(ShapeFactory.TYpe.CIRCLE));
+
+        /*批量创建*/
+        Shape[] shapes = factory.getShapes(new ShapeFactory.TYpe[]{
+                ShapeFactory.TYpe.SQUARE, ShapeFactory.TYpe.CIRCLE, ShapeFactory.TYpe.SQUARE});
+        for (Shape shape : shapes) {
+            shape.draw();
+        }
     }
 }
@@ -0,0 +1,12 @@
+package 工厂模式;
+
+/**
+ * 产品1
+ */
+class Rectangle implements Shape {
+
+    @Override
+    public void draw() {
+        System.out.println("Inside Rectangle::draw() method.");
+    }
+}
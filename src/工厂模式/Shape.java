@@ -0,0 +1,8 @@
+package 工厂模式;
+
+/**
+ * 抽象产品
+ */
+interface Shape {
+    void draw();
+}
@@ -0,0 +1,50 @@
+package 工厂模式;
+
+import java.util.Random;
+
+/**
+ * 批量创建的耗时对比：逐个 getShape vs getShapes vs 并行 getShapes
+ */
+public class ShapeBatchBenchmark {
+
+    private static final int BATCH = 500_000;
+    private static final int WARMUP = 10;
+    private static final int ROUNDS = 20;
+
+    interface Batch {
+        Shape[] create(ShapeFactory.TYpe[] types);
+    }
+
+    public static void main(String[] args) {
+        ShapeFactory factory = new ShapeFactory();
+        ShapeFactory.TYpe[] values = ShapeFactory.TYpe.values();
+        ShapeFactory.TYpe[] types = new ShapeFactory.TYpe[BATCH];
+        Random random = new Random(42);
+        for (int i = 0; i < types.length; i++) {
+            types[i] = values[random.nextInt(values.length)];
+        }
+
+        report("per-item loop  ", types, batch -> {
+            Shape[] shapes = new Shape[batch.length];
+            for (int i = 0; i < batch.length; i++) {
+                shapes[i] = factory.getShape(batch[i]);
+            }
+            return shapes;
+        });
+        report("getShapes      ", types, factory::getShapes);
+        report("getShapes (par)", types, batch -> factory.getShapes(batch, true));
+    }
+
+    private static void report(String name, ShapeFactory.TYpe[] types, Batch batch) {
+        for (int i = 0; i < WARMUP; i++) {
+            batch.create(types);
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += batch.create(types).length;
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s : %.2f ms/batch (%d)%n", name, elapsed / 1e6 / ROUNDS, sink);
+    }
+}
@@ -0,0 +1,145 @@
+package 工厂模式;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 按类型查表创建产品，EnumMap 内部就是按 ordinal 下标访问的数组，查找不需要计算哈希
+ * <p>
+ * 每种类型注册一个 Supplier，新增产品只需要注册，不用再改 if/else 分支。
+ * 产品无状态时可以打开共享模式：每种类型只创建一次，之后都返回同一个享元实例，不再分配对象。
+ * 注册应在工厂交给其他线程使用之前完成。
+ */
+class ShapeFactory {
+    public enum TYpe {
+        CIRCLE, SQUARE, RECTANGLE
+    }
+
+    /*小于这个数量的批量不值得并行*/
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final EnumMap<TYpe, Supplier<? extends Shape>> suppliers = new EnumMap<TYpe, Supplier<? extends Shape>>(TYpe.class);
+    private final EnumMap<TYpe, Shape> sharedInstances;
+
+    public ShapeFactory() {
+        this(false);
+    }
+
+    /**
+     * @param shareInstances 为 true 时返回共享的无状态实例
+     */
+    public ShapeFactory(boolean shareInstances) {
+        sharedInstances = shareInstances ? new EnumMap<TYpe, Shape>(TYpe.class) : null;
+
+        register(TYpe.CIRCLE, Circle::new);
+        register(TYpe.RECTANGLE, Rectangle::new);
+        register(TYpe.SQUARE, Square::new);
+    }
+
+    public void register(TYpe shapeType, Supplier<? extends Shape> supplier) {
+        suppliers.put(shapeType, supplier);
+        if (sharedInstances != null) {
+            sharedInstances.put(shapeType, supplier.get());
+        }
+    }
+
+    public Shape getShape(TYpe shapeType) {
+        if (shapeType == null) {
+            return null;
+        }
+
+        if (sharedInstances != null) {
+            return sharedInstances.get(shapeType);
+        }
+
+        Supplier<? extends Shape> supplier = suppliers.get(shapeType);
+        return supplier == null ? null : supplier.get();
+    }
+
+    /**
+     * 批量创建，结果与逐个调用 getShape 相同
+     */
+    public Shape[] getShapes(TYpe[] shapeTypes) {
+        return getShapes(shapeTypes, false);
+    }
+
+    /**
+     * 批量创建：先按类型分组，每种类型只查表一次，再连续创建该类型的全部产品。
+     * parallel 为 true 且批量超过 PARALLEL_THRESHOLD 时，各组在公共 ForkJoinPool 上并行创建。
+     */
+    public Shape[] getShapes(TYpe[] shapeTypes, boolean parallel) {
+        Shape[] shapes = new Shape[shapeTypes.length];
+        int[][] groups = groupByType(shapeTypes);
+        boolean inParallel = parallel && shapeTypes.length >= PARALLEL_THRESHOLD;
+
+        for (TYpe type : TYpe.values()) {
+            int[] positions = groups[type.ordinal()];
+            if (positions.length == 0) {
+                continue;
+            }
+            if (sharedInstances != null) {
+                Shape shared = sharedInstances.get(type);
+                for (int position : positions) {
+                    shapes[position] = shared;
+                }
+                continue;
+            }
+            Supplier<? extends Shape> supplier = suppliers.get(type);
+            if (supplier == null) {
+                continue;
+            }
+            if (inParallel) {
+                IntStream.of(positions).parallel().forEach(position -> shapes[position] = supplier.get());
+            } else {
+                for (int position : positions) {
+                    shapes[position] = supplier.get();
+                }
+            }
+        }
+        return shapes;
+    }
+
+    /**
+     * 用同一种产品填满 dest
+     */
+    public void fill(TYpe shapeType, Shape[] dest) {
+        if (shapeType == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        if (sharedInstances != null) {
+            Arrays.fill(dest, sharedInstances.get(shapeType));
+            return;
+        }
+        Supplier<? extends Shape> supplier = suppliers.get(shapeType);
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier == null ? null : supplier.get();
+        }
+    }
+
+    /**
+     * 计数排序：返回每种类型在输入中出现的下标，null 类型被跳过
+     */
+    private static int[][] groupByType(TYpe[] shapeTypes) {
+        int[] counts = new int[TYpe.values().length];
+        for (TYpe type : shapeTypes) {
+            if (type != null) {
+                counts[type.ordinal()]++;
+            }
+        }
+        int[][] groups = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            groups[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int position = 0; position < shapeTypes.length; position++) {
+            TYpe type = shapeTypes[position];
+            if (type != null) {
+                groups[type.ordinal()][counts[type.ordinal()]++] = position;
+            }
+        }
+        return groups;
+    }
+}
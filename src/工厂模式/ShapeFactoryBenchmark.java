@@ -0,0 +1,55 @@
+package 工厂模式;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * ShapeFactory.getShape 的分配量对比：每次 new vs 共享实例
+ * 用 com.sun.management.ThreadMXBean 统计当前线程分配的字节数。
+ * 不带参数时为 new 和 shared 各启动一个 JVM 运行；参数 new 或 shared 时只测量那一种。
+ */
+public class ShapeFactoryBenchmark {
+
+    private static final int WARMUP = 2_000_000;
+    private static final int OPERATIONS = 10_000_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            String java = System.getProperty("java.home") + "/bin/java";
+            String classpath = System.getProperty("java.class.path");
+            for (String mode : new String[]{"new", "shared"}) {
+                new ProcessBuilder(java, "-cp", classpath, ShapeFactoryBenchmark.class.getName(), mode)
+                        .inheritIO()
+                        .start()
+                        .waitFor();
+            }
+            return;
+        }
+        boolean shared = args[0].equalsIgnoreCase("shared");
+        ShapeFactory factory = new ShapeFactory(shared);
+        ShapeFactory.TYpe[] types = ShapeFactory.TYpe.values();
+
+        run(factory, types, WARMUP);
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        int sink = run(factory, types, OPERATIONS);
+        long elapsed = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        System.out.printf("%s : %.2f bytes/op, %.1f ns/op (%d)%n", shared ? "shared" : "new",
+                (double) bytes / OPERATIONS, (double) elapsed / OPERATIONS, sink);
+    }
+
+    /*结果放进 hashCode 之和，避免整个调用被优化掉*/
+    private static int run(ShapeFactory factory, ShapeFactory.TYpe[] types, int operations) {
+        int sink = 0;
+        for (int i = 0; i < operations; i++) {
+            sink += System.identityHashCode(factory.getShape(types[i % types.length])) & 1;
+        }
+        return sink;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
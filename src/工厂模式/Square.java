@@ -0,0 +1,12 @@
+package 工厂模式;
+
+/**
+ * 产品3
+ */
+class Square implements Shape {
+
+    @Override
+    public void draw() {
+        System.out.println("Inside Square::draw() method.");
+    }
+}
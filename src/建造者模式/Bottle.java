@@ -0,0 +1,12 @@
+package 建造者模式;
+
+/**
+ * 瓶子
+ */
+class Bottle implements Packing{
+
+    @Override
+    public String pack() {
+        return "Bottle";
+    }
+}
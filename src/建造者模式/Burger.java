@@ -0,0 +1,13 @@
+package 建造者模式;
+
+/**
+ * item 接口的抽象类
+ */
+abstract class Burger implements Item{
+    @Override
+    public Packing packing() {
+        return Packing.WRAPPER;
+    }
+
+    public abstract float price();
+}
@@ -0,0 +1,13 @@
+package 建造者模式;
+
+class ChickenBurger extends Burger{
+    @Override
+    public float price() {
+        return 50.5f;
+    }
+
+    @Override
+    public String name() {
+        return "Chicken Burger";
+    }
+}
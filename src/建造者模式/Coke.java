@@ -0,0 +1,14 @@
+package 建造者模式;
+
+class Coke extends ColdDrink {
+
+    @Override
+    public float price() {
+        return 30.0f;
+    }
+
+    @Override
+    public String name() {
+        return "Coke";
+    }
+}
@@ -0,0 +1,11 @@
+package 建造者模式;
+
+abstract class ColdDrink implements Item{
+    @Override
+    public Packing packing() {
+        return Packing.BOTTLE;
+    }
+
+    @Override
+    public abstract float price();
+}
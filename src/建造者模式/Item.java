@@ -0,0 +1,10 @@
+package 建造者模式;
+
+/**
+ * 食物条
+ */
+interface Item{
+    public String name();
+    public Packing packing();
+    public float price();
+}
@@ -0,0 +1,137 @@
+package 建造者模式;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * 检查 Item 的访问方法（name/packing/price）是否分配对象
+ * <p>
+ * 对每个 Item 先预热，再统计多次调用期间当前线程分配的字节数，结果写入 static 字段以免被逃逸分析消除。
+ * 有分配的 Item 会被列出，并以退出码 1 结束，可以放在构建流程中运行。
+ * <p>
+ * 要检查的 Item 不是手工列出的：扫描本包在类路径上的全部类（目录或 jar），找出所有具体的 Item 实现，
+ * 用无参构造器各创建一个实例。新增的 Item 自动纳入检查；无法实例化的（例如匿名类）直接算作失败。
+ */
+public class ItemAllocationCheck {
+
+    private static final int CALLS = 100_000;
+
+    /*MealPackingBenchmark 中故意每次分配包装的对照组*/
+    private static final List<Class<?>> EXCLUDED = Arrays.asList(
+            MealPackingBenchmark.AllocatingBurger.class, MealPackingBenchmark.AllocatingCoke.class);
+
+    static volatile Object sink;
+
+    public static void main(String[] args) throws Exception {
+        List<Item> items = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (Class<?> type : itemClasses()) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                items.add((Item) constructor.newInstance());
+            } catch (ReflectiveOperationException e) {
+                failures.add(type.getName() + " (cannot instantiate: " + e + ")");
+            }
+        }
+        System.out.println("checking " + items.size() + " Item implementation(s)");
+        failures.addAll(check(items));
+        for (String failure : failures) {
+            System.out.println("ALLOCATES: " + failure);
+        }
+        System.out.println(failures.isEmpty() ? "OK: no Item accessor allocates" : failures.size() + " accessor(s) allocate");
+        if (!failures.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 本包中全部具体的 Item 实现，按类名排序
+     */
+    static List<Class<?>> itemClasses() throws IOException, URISyntaxException, ClassNotFoundException {
+        String pkg = ItemAllocationCheck.class.getPackage().getName();
+        Path location = Paths.get(ItemAllocationCheck.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        TreeSet<String> classNames = new TreeSet<>();
+        if (Files.isDirectory(location)) {
+            Path dir = location.resolve(pkg.replace('.', '/'));
+            try (Stream<Path> files = Files.list(dir)) {
+                files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.endsWith(".class"))
+                        .forEach(name -> classNames.add(pkg + "." + name.substring(0, name.length() - ".class".length())));
+            }
+        } else {
+            String prefix = pkg.replace('.', '/') + "/";
+            try (JarFile jar = new JarFile(location.toFile())) {
+                for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                    String name = entries.nextElement().getName();
+                    if (name.startsWith(prefix) && name.endsWith(".class") && name.indexOf('/', prefix.length()) < 0) {
+                        classNames.add(name.substring(0, name.length() - ".class".length()).replace('/', '.'));
+                    }
+                }
+            }
+        }
+
+        List<Class<?>> types = new ArrayList<>();
+        ClassLoader loader = ItemAllocationCheck.class.getClassLoader();
+        for (String className : classNames) {
+            Class<?> type = Class.forName(className, false, loader);
+            if (Item.class.isAssignableFrom(type) && !type.isInterface()
+                    && !Modifier.isAbstract(type.getModifiers()) && !EXCLUDED.contains(type)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    static List<String> check(List<Item> items) {
+        List<String> failures = new ArrayList<>();
+        for (Item item : items) {
+            String type = item.getClass().getSimpleName();
+            if (allocates(() -> sink = item.name())) {
+                failures.add(type + ".name()");
+            }
+            if (allocates(() -> sink = item.packing())) {
+                failures.add(type + ".packing()");
+            }
+            /*price() 返回基本类型，装箱只发生在这里的 sink 上，所以只调用不保存*/
+            if (allocates(item::price)) {
+                failures.add(type + ".price()");
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * 平均每次调用分配不少于 1 字节即认为有分配（容忍统计本身的少量开销）
+     */
+    private static boolean allocates(Runnable accessor) {
+        for (int i = 0; i < CALLS; i++) {
+            accessor.run();
+        }
+        long before = allocatedBytes();
+        for (int i = 0; i < CALLS; i++) {
+            accessor.run();
+        }
+        return allocatedBytes() - before >= CALLS;
+    }
+
+    static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
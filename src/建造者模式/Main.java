@@ -31,171 +31,12 @@ package 建造者模式;
  注意事项：与工厂模式的区别是：建造者模式更加关注与零件装配的顺序。
  */
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
-/**
- * 食物条
- */
-interface Item{
-    public String name();
-    public Packing packing();
-    public float price();
-}
-
-/**
- * 包装的接口
- */
-interface Packing {
-    public String pack();
-}
-
-/**
- * 实物包装带
- */
-class Wrapper implements Packing{
-
-    @Override
-    public String pack() {
-        return "Wrapper";
-    }
-}
-
-/**
- * 瓶子
- */
-class Bottle implements Packing{
-
-    @Override
-    public String pack() {
-        return "Bottle";
-    }
-}
-
-/**
- * item 接口的抽象类
- */
-abstract class Burger implements Item{
-    @Override
-    public Packing packing() {
-        return new Wrapper();
-    }
-
-
-    public abstract float price();
-}
-
-abstract class ColdDrink implements Item{
-    @Override
-    public Packing packing() {
-        return new Bottle();
-    }
-
-    @Override
-    public abstract float price();
-}
-
-/**
- * Burger ColdDrink 实体类
- */
-class VegBurger extends Burger{
-    @Override
-    public float price() {
-        return 25f;
-    }
-
-    @Override
-    public String name() {
-        return "Veg Burger";
-    }
-}
-
-class ChickenBurger extends Burger{
-    @Override
-    public float price() {
-        return 50.5f;
-    }
-
-    @Override
-    public String name() {
-        return "Chicken Burger";
-    }
-}
-
-class Coke extends ColdDrink {
-
-    @Override
-    public float price() {
-        return 30.0f;
-    }
-
-    @Override
-    public String name() {
-        return "Coke";
-    }
-}
-
-class Pepsi extends ColdDrink {
-
-    @Override
-    public float price() {
-        return 35.0f;
-    }
-
-    @Override
-    public String name() {
-        return "Pepsi";
-    }
-}
-
-/**
- * 这个类的创建将会变得稍微复杂，我们需要多次为它添加item
- */
-class Meal{
-    private List<Item> items = new ArrayList<>();
-
-    public void addItem(Item item){
-        items.add(item);
-    }
-
-    public float getCost(){
-        float cost = 0.0f;
-        for (Item item : items) {
-            cost+=item.price();
-        }
-
-        return cost;
-    }
-
-    public void showItems(){
-        for (Item item : items) {
-            System.out.print("Item : "+item.name());
-            System.out.print(", Packing : "+item.packing().pack());
-            System.out.println(", Price : "+item.price());
-        }
-    }
-}
-
-/**
- * 创建一个 MealBuilder 类，实际的 builder 类负责创建 Meal 对象。
- */
-class MealBuilder{
-    public Meal prepareVegMeal(){
-        Meal meal = new Meal();
-        meal.addItem(new VegBurger());
-        meal.addItem(new Coke());
-        return meal;
-    }
-
-    public Meal prepareNonVegMeal (){
-        Meal meal = new Meal();
-        meal.addItem(new ChickenBurger());
-        meal.addItem(new Pepsi());
-        return meal;
-    }
-}
-
-
 public class Main {
     public static void main(String[] args) {
         MealBuilder mealBuilder = new MealBuilder();
@@ -209,5 +50,23 @@ public class Main {
         System.out.println("\n\nNon-Veg Meal");
         nonVegMeal.showItems();
         System.out.println("Total Cost: " +nonVegMeal.getCost());
+
+        List<Meal> meals = mealBuilder.prepareMeals(Arrays.asList(MealType.VEG, MealType.NON_VEG, MealType.VEG));
+        System.out.println("\n\nBatch of " + meals.size() + " meals, first cost: " + meals.get(0).getCost());
+
+        /*从模板文件构建套餐*/
+        try {
+            Path file = Files.createTempFile("meals", ".csv");
+            Files.write(file, Arrays.asList("Kids,Veg Burger,Coke", "Double,Chicken Burger,Chicken Burger,Pepsi"));
+            MealTemplates templates = new MealTemplates(file);
+            MealTemplate kids = templates.get("kids");
+            System.out.println("\n\n" + kids.getName() + " Meal (" + kids.getPackingSummary() + ")");
+            Meal kidsMeal = kids.newMeal();
+            kidsMeal.showItems();
+            System.out.println("Total Cost: " + kidsMeal.getCost());
+            Files.delete(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 }
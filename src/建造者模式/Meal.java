@@ -0,0 +1,98 @@
+package 建造者模式;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * 这个类的创建将会变得稍微复杂，我们需要多次为它添加item
+ * 总价在 addItem/removeItem 时增量维护（以"分"为单位的 long），getCost() 是 O(1) 的，
+ * 也不会像 float 逐个累加那样积累误差。价格按分四舍五入。
+ */
+class Meal{
+    private Item[] items = new Item[4];
+    /*与 items 下标对应的价格（分），删除时不必再调用 price()*/
+    private long[] priceCents = new long[4];
+    private int size;
+    private long costCents;
+
+    public Meal(){
+    }
+
+    /**
+     * 拷贝构造：复制数组和总价，不再逐个 addItem
+     */
+    public Meal(Meal source){
+        this.items = source.items.clone();
+        this.priceCents = source.priceCents.clone();
+        this.size = source.size;
+        this.costCents = source.costCents;
+    }
+
+    public void addItem(Item item){
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            priceCents = Arrays.copyOf(priceCents, size * 2);
+        }
+        long cents = toCents(item.price());
+        items[size] = item;
+        priceCents[size] = cents;
+        size++;
+        costCents += cents;
+    }
+
+    /**
+     * 删除第一个与 item 相同的食物条
+     */
+    public boolean removeItem(Item item){
+        for (int i = 0; i < size; i++) {
+            if (items[i] == item) {
+                costCents -= priceCents[i];
+                int tail = size - i - 1;
+                System.arraycopy(items, i + 1, items, i, tail);
+                System.arraycopy(priceCents, i + 1, priceCents, i, tail);
+                items[--size] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public float getCost(){
+        return costCents / 100f;
+    }
+
+    /**
+     * 精确的总价（分）
+     */
+    public long getCostCents(){
+        return costCents;
+    }
+
+    public BigDecimal getExactCost(){
+        return BigDecimal.valueOf(costCents, 2);
+    }
+
+    public int size(){
+        return size;
+    }
+
+    public Item getItem(int index){
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return items[index];
+    }
+
+    static long toCents(float price) {
+        return Math.round(price * 100.0);
+    }
+
+    public void showItems(){
+        for (int i = 0; i < size; i++) {
+            Item item = items[i];
+            System.out.print("Item : "+item.name());
+            System.out.print(", Packing : "+item.packing().pack());
+            System.out.println(", Price : "+item.price());
+        }
+    }
+}
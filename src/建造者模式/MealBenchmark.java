@@ -0,0 +1,63 @@
+package 建造者模式;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 套餐构建吞吐量：原来逐个 new 食物条的构建方式 vs prepareMeals 批量构建
+ */
+public class MealBenchmark {
+
+    private static final int ORDERS = 1_000_000;
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 10;
+
+    interface Batch {
+        List<Meal> prepare(List<MealType> orders);
+    }
+
+    public static void main(String[] args) {
+        List<MealType> orders = new ArrayList<>(ORDERS);
+        Random random = new Random(42);
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(random.nextBoolean() ? MealType.VEG : MealType.NON_VEG);
+        }
+
+        MealBuilder builder = new MealBuilder();
+        report("per-meal (new items)", orders, MealBenchmark::perMeal);
+        report("prepareMeals        ", orders, builder::prepareMeals);
+    }
+
+    /**
+     * 改动前的方式：每份套餐都 new 新的食物条
+     */
+    static List<Meal> perMeal(List<MealType> orders) {
+        List<Meal> meals = new ArrayList<>();
+        for (MealType order : orders) {
+            Meal meal = new Meal();
+            if (order == MealType.VEG) {
+                meal.addItem(new VegBurger());
+                meal.addItem(new Coke());
+            } else {
+                meal.addItem(new ChickenBurger());
+                meal.addItem(new Pepsi());
+            }
+            meals.add(meal);
+        }
+        return meals;
+    }
+
+    private static void report(String name, List<MealType> orders, Batch batch) {
+        for (int i = 0; i < WARMUP; i++) {
+            batch.prepare(orders);
+        }
+        long start = System.nanoTime();
+        int sink = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            sink += batch.prepare(orders).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%s : %.0f meals/s (%d)%n", name, (double) ORDERS * ROUNDS / (elapsed / 1e9), sink);
+    }
+}
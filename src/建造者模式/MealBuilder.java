@@ -0,0 +1,82 @@
+package 建造者模式;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 创建一个 MealBuilder 类，实际的 builder 类负责创建 Meal 对象。
+ * 食物条都是无状态、不可变的，所有套餐共享同一份实例（享元），不再每次 new。
+ */
+class MealBuilder{
+    /*超过这个数量的批量订单才并行构建*/
+    public static final int PARALLEL_THRESHOLD = 10_000;
+
+    static final Item VEG_BURGER = new VegBurger();
+    static final Item CHICKEN_BURGER = new ChickenBurger();
+    static final Item COKE = new Coke();
+    static final Item PEPSI = new Pepsi();
+
+    private static final Map<String, Item> ITEMS = new HashMap<>();
+
+    static {
+        for (Item item : new Item[]{VEG_BURGER, CHICKEN_BURGER, COKE, PEPSI}) {
+            ITEMS.put(item.name().toUpperCase(Locale.ROOT), item);
+        }
+    }
+
+    /**
+     * 按名称（不区分大小写）取共享的食物条，未知名称抛出 IllegalArgumentException
+     */
+    public static Item item(String name) {
+        Item item = ITEMS.get(name.trim().toUpperCase(Locale.ROOT));
+        if (item == null) {
+            throw new IllegalArgumentException("Unknown item: " + name);
+        }
+        return item;
+    }
+
+    public Meal prepareVegMeal(){
+        Meal meal = new Meal();
+        meal.addItem(VEG_BURGER);
+        meal.addItem(COKE);
+        return meal;
+    }
+
+    public Meal prepareNonVegMeal (){
+        Meal meal = new Meal();
+        meal.addItem(CHICKEN_BURGER);
+        meal.addItem(PEPSI);
+        return meal;
+    }
+
+    public Meal prepareMeal(MealType type) {
+        switch (type) {
+            case VEG:
+                return prepareVegMeal();
+            case NON_VEG:
+                return prepareNonVegMeal();
+            default:
+                throw new IllegalArgumentException("Unknown meal type: " + type);
+        }
+    }
+
+    /**
+     * 批量构建，结果顺序与订单一致；订单数超过 PARALLEL_THRESHOLD 时并行构建
+     */
+    public List<Meal> prepareMeals(List<MealType> orders) {
+        if (orders.size() < PARALLEL_THRESHOLD) {
+            List<Meal> meals = new ArrayList<>(orders.size());
+            for (MealType order : orders) {
+                meals.add(prepareMeal(order));
+            }
+            return meals;
+        }
+        return orders.parallelStream()
+                .map(this::prepareMeal)
+                .collect(Collectors.toList());
+    }
+}
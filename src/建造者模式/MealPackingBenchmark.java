@@ -0,0 +1,58 @@
+package 建造者模式;
+
+/**
+ * 遍历一百万个食物条的套餐、读取每个食物条包装时的分配量
+ * 对比共享包装的食物条与每次 new 包装的旧写法。
+ */
+public class MealPackingBenchmark {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * 改动前的写法：每次 packing() 都 new 一个包装
+     */
+    static class AllocatingBurger extends VegBurger {
+        @Override
+        public Packing packing() {
+            return new Wrapper();
+        }
+    }
+
+    static class AllocatingCoke extends Coke {
+        @Override
+        public Packing packing() {
+            return new Bottle();
+        }
+    }
+
+    public static void main(String[] args) {
+        report("shared packing    ", meal(MealBuilder.VEG_BURGER, MealBuilder.COKE));
+        report("allocating packing", meal(new AllocatingBurger(), new AllocatingCoke()));
+    }
+
+    private static Meal meal(Item burger, Item drink) {
+        Meal meal = new Meal();
+        for (int i = 0; i < ITEMS; i++) {
+            meal.addItem(i % 2 == 0 ? burger : drink);
+        }
+        return meal;
+    }
+
+    private static void report(String name, Meal meal) {
+        pack(meal);
+        long before = ItemAllocationCheck.allocatedBytes();
+        for (int round = 0; round < ROUNDS; round++) {
+            pack(meal);
+        }
+        long bytes = ItemAllocationCheck.allocatedBytes() - before;
+        System.out.printf("%s : %.2f bytes/item%n", name, (double) bytes / ROUNDS / ITEMS);
+    }
+
+    /*与 showItems() 相同的访问，只是不打印；包装写入 sink 模拟交给打印方*/
+    private static void pack(Meal meal) {
+        for (int i = 0; i < meal.size(); i++) {
+            ItemAllocationCheck.sink = meal.getItem(i).packing();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package 建造者模式;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 编译好的套餐模板
+ * 内部的 Meal 只作为原型，不会被外部拿到；总价和包装汇总在编译时算好，newMeal() 只是拷贝。
+ */
+final class MealTemplate {
+
+    private final String name;
+    private final Meal prototype;
+    private final String packingSummary;
+
+    MealTemplate(String name, Meal prototype) {
+        this.name = name;
+        this.prototype = prototype;
+        this.packingSummary = packingSummary(prototype);
+    }
+
+    private static String packingSummary(Meal meal) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < meal.size(); i++) {
+            counts.merge(meal.getItem(i).packing().pack(), 1, Integer::sum);
+        }
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(count.getKey()).append(" x").append(count.getValue());
+        }
+        return summary.toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Meal newMeal() {
+        return new Meal(prototype);
+    }
+
+    public long getCostCents() {
+        return prototype.getCostCents();
+    }
+
+    public String getPackingSummary() {
+        return packingSummary;
+    }
+}
@@ -0,0 +1,138 @@
+package 建造者模式;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 从数据文件加载套餐模板，代替在 MealBuilder 中硬编码套餐组合
+ * <p>
+ * 文件每行一个套餐：名称,食物条1,食物条2,...，食物条名称见 MealBuilder.item()，# 开头的行是注释。
+ * 启动时整体编译一次；startWatching() 之后文件被修改会自动重新加载并整体替换，
+ * 加载失败时保留旧的模板。
+ */
+class MealTemplates implements Closeable {
+
+    private final Path file;
+    private volatile Map<String, MealTemplate> templates;
+    private volatile WatchService watcher;
+
+    public MealTemplates(Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.templates = load(this.file);
+    }
+
+    static Map<String, MealTemplate> load(Path file) throws IOException {
+        Map<String, MealTemplate> templates = new HashMap<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length < 2) {
+                throw new IllegalArgumentException(file + ":" + lineNumber + ": meal without items: " + line);
+            }
+            String name = fields[0].trim();
+            Meal prototype = new Meal();
+            for (int i = 1; i < fields.length; i++) {
+                prototype.addItem(MealBuilder.item(fields[i]));
+            }
+            if (templates.put(key(name), new MealTemplate(name, prototype)) != null) {
+                throw new IllegalArgumentException(file + ":" + lineNumber + ": duplicate meal: " + name);
+            }
+        }
+        return Collections.unmodifiableMap(templates);
+    }
+
+    private static String key(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 不区分大小写，未知名称抛出 IllegalArgumentException
+     */
+    public MealTemplate get(String name) {
+        MealTemplate template = templates.get(key(name));
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown meal: " + name);
+        }
+        return template;
+    }
+
+    public Meal newMeal(String name) {
+        return get(name).newMeal();
+    }
+
+    public Map<String, MealTemplate> getTemplates() {
+        return templates;
+    }
+
+    /**
+     * 重新加载，失败时抛出异常并保留旧的模板
+     */
+    public void reload() throws IOException {
+        templates = load(file);
+    }
+
+    /**
+     * 在后台守护线程中监听文件修改并自动重新加载
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        watcher = file.getFileSystem().newWatchService();
+        file.getParent().register(watcher, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        final WatchService service = watcher;
+        Thread thread = new Thread(() -> watch(service), "meal-templates-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    try {
+                        reload();
+                    } catch (IOException | RuntimeException e) {
+                        /*文件可能正在写入或内容有误，保留旧模板，等待下一次修改*/
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            /*close() 之后退出*/
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package 建造者模式;
+
+/**
+ * 套餐类型，批量下单时的订单描述
+ */
+enum MealType {
+    VEG, NON_VEG
+}
@@ -0,0 +1,12 @@
+package 建造者模式;
+
+/**
+ * 包装的接口
+ * 包装没有状态，所有食物条共享下面的享元实例，packing() 不再创建新对象。
+ */
+interface Packing {
+    Packing WRAPPER = new Wrapper();
+    Packing BOTTLE = new Bottle();
+
+    public String pack();
+}
@@ -0,0 +1,14 @@
+package 建造者模式;
+
+class Pepsi extends ColdDrink {
+
+    @Override
+    public float price() {
+        return 35.0f;
+    }
+
+    @Override
+    public String name() {
+        return "Pepsi";
+    }
+}
@@ -0,0 +1,16 @@
+package 建造者模式;
+
+/**
+ * Burger ColdDrink 实体类
+ */
+class VegBurger extends Burger{
+    @Override
+    public float price() {
+        return 25f;
+    }
+
+    @Override
+    public String name() {
+        return "Veg Burger";
+    }
+}
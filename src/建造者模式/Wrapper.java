@@ -0,0 +1,12 @@
+package 建造者模式;
+
+/**
+ * 实物包装带
+ */
+class Wrapper implements Packing{
+
+    @Override
+    public String pack() {
+        return "Wrapper";
+    }
+}
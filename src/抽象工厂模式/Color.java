@@ -0,0 +1,5 @@
+package 抽象工厂模式;
+
+interface Color{
+    void fill();
+}
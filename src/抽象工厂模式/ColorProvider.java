@@ -0,0 +1,4 @@
+package 抽象工厂模式;
+
+interface ColorProvider extends Provider<Color> {
+}
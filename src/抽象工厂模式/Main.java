@@ -29,10 +29,10 @@ package 抽象工厂模式;
  使用场景： 1、QQ 换皮肤，一整套一起换。 2、生成不同操作系统
  */
 
-interface Shape{
-    void draw();
-}
-
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * 产品1
@@ -67,10 +67,6 @@ class Square implements Shape {
     }
 }
 
-interface Color{
-    void fill();
-}
-
 class Red implements Color{
 
     @Override
@@ -105,42 +101,110 @@ abstract class AbstractFactory{
 
 class ShapeFactory extends AbstractFactory{
 
+    /**
+     * 静态内部类持有名称表：第一次 getShape 时才扫描 ShapeProvider
+     */
+    private static class Shapes {
+        static final NameRegistry<Supplier<Shape>> SHAPES;
+
+        static {
+            Map<String, Supplier<Shape>> shapes = new HashMap<>();
+            shapes.put("CIRCLE", Circle::new);
+            shapes.put("RECTANGLE", Rectangle::new);
+            shapes.put("SQUARE", Square::new);
+            SHAPES = ProviderLoader.load("shape", ShapeProvider.class, shapes);
+        }
+    }
+
     @Override
     public Color getColor(String color) {
         return null;
     }
 
+    /**
+     * 未知的名称抛出 IllegalArgumentException
+     */
     @Override
     public Shape getShape(String shapeType) {
         if(shapeType == null){
             return null;
         }
-        if(shapeType.equalsIgnoreCase("CIRCLE")){
-            return new Circle();
-        } else if(shapeType.equalsIgnoreCase("RECTANGLE")){
-            return new Rectangle();
-        } else if(shapeType.equalsIgnoreCase("SQUARE")){
-            return new Square();
+        return Shapes.SHAPES.get(shapeType).get();
+    }
+
+    /**
+     * 批量创建，dest[i] 对应 shapeTypes[i]
+     */
+    public Shape[] getShapes(String[] shapeTypes) {
+        Shape[] shapes = new Shape[shapeTypes.length];
+        Shapes.SHAPES.createAll(shapeTypes, shapes, Supplier::get);
+        return shapes;
+    }
+
+    /**
+     * 用同一种产品填满 dest；名称为 null 时和 getShape(null) 一样得到 null
+     */
+    public void fill(String shapeType, Shape[] dest) {
+        if (shapeType == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        Supplier<Shape> supplier = Shapes.SHAPES.get(shapeType);
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier.get();
         }
-        return null;
     }
 }
 
 class ColorFactory extends AbstractFactory{
 
+    /**
+     * 同 ShapeFactory.Shapes，第一次 getColor 时才扫描 ColorProvider
+     */
+    private static class Colors {
+        static final NameRegistry<Supplier<Color>> COLORS;
+
+        static {
+            Map<String, Supplier<Color>> colors = new HashMap<>();
+            colors.put("RED", Red::new);
+            colors.put("GREEN", Green::new);
+            colors.put("BLUE", Blue::new);
+            COLORS = ProviderLoader.load("color", ColorProvider.class, colors);
+        }
+    }
+
+    /**
+     * 未知的名称抛出 IllegalArgumentException
+     */
     @Override
     public Color getColor(String color) {
         if(color == null){
             return null;
         }
-        if(color.equalsIgnoreCase("RED")){
-            return new Red();
-        } else if(color.equalsIgnoreCase("GREEN")){
-            return new Green();
-        } else if(color.equalsIgnoreCase("BLUE")){
-            return new Blue();
+        return Colors.COLORS.get(color).get();
+    }
+
+    /**
+     * 批量创建，dest[i] 对应 colors[i]
+     */
+    public Color[] getColors(String[] colors) {
+        Color[] result = new Color[colors.length];
+        Colors.COLORS.createAll(colors, result, Supplier::get);
+        return result;
+    }
+
+    /**
+     * 用同一种产品填满 dest；名称为 null 时和 getColor(null) 一样得到 null
+     */
+    public void fill(String color, Color[] dest) {
+        if (color == null) {
+            Arrays.fill(dest, null);
+            return;
+        }
+        Supplier<Color> supplier = Colors.COLORS.get(color);
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = supplier.get();
         }
-        return null;
     }
 
     @Override
@@ -151,16 +215,24 @@ class ColorFactory extends AbstractFactory{
 
 /**
  * 工厂生成器
+ * 工厂本身无状态，每种只创建一个实例
  */
 class FactoryProducer{
-    public static AbstractFactory getFactory(String choice){
-        if (choice.equalsIgnoreCase("SHAPE")){
-            return new ShapeFactory();
-        }else  if(choice.equalsIgnoreCase("COLOR")){
-            return new ColorFactory();
-        }
 
-        return null;
+    private static final NameRegistry<AbstractFactory> FACTORIES;
+
+    static {
+        Map<String, AbstractFactory> factories = new HashMap<>();
+        factories.put("SHAPE", new ShapeFactory());
+        factories.put("COLOR", new ColorFactory());
+        FACTORIES = new NameRegistry<>("factory", factories);
+    }
+
+    /**
+     * 未知的名称抛出 IllegalArgumentException
+     */
+    public static AbstractFactory getFactory(String choice){
+        return FACTORIES.get(choice);
     }
 }
 
@@ -174,7 +246,6 @@ public class Main {
         Shape shape2 = shapeFactory.getShape("RECTANGLE");
         shape2.draw();
 
-
         //获取颜色工厂
         AbstractFactory colorFactory = FactoryProducer.getFactory("COLOR");
         //获取颜色为 Red 的对象
@@ -189,6 +260,16 @@ public class Main {
         //调用 Green 的 fill 方法
         color2.fill();
 
+        //通过 ServiceLoader 发现的产品，需要 src/META-INF/services 在运行时的类路径上（javac 只编译时，把它复制到输出目录）
+        try {
+            Shape shape3 = shapeFactory.getShape("TRIANGLE");
+            shape3.draw();
+        } catch (IllegalArgumentException e) {
+            System.out.println("No TRIANGLE provider discovered; copy src/META-INF into the class output directory");
+        }
+
+        //各个提供者的加载耗时
+        System.out.println(ProviderLoader.startupNanos());
 
     }
 }
@@ -0,0 +1,95 @@
+package 抽象工厂模式;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 不区分大小写的名称查找表
+ * <p>
+ * 构造时把已知名称编译成一张无冲突（完美哈希）的表：不断更换种子和表大小，
+ * 直到每个名称落在不同的槽里。查找时按大写字符计算哈希，不创建新字符串，
+ * 定位到槽后只需一次 equalsIgnoreCase 确认，代替逐个 equalsIgnoreCase 的 if/else。
+ * 未知名称抛出 IllegalArgumentException。
+ */
+class NameRegistry<T> {
+
+    private final String kind;
+    private final String[] names;
+    private final Object[] values;
+    private final int seed;
+    private final int mask;
+
+    public NameRegistry(String kind, Map<String, T> entries) {
+        this.kind = kind;
+        for (int size = Integer.highestOneBit(Math.max(1, entries.size() * 2 - 1)) << 1; size > 0; size <<= 1) {
+            for (int seed = 1; seed < 64; seed++) {
+                String[] names = new String[size];
+                Object[] values = new Object[size];
+                if (fill(entries, seed, size - 1, names, values)) {
+                    this.names = names;
+                    this.values = values;
+                    this.seed = seed;
+                    this.mask = size - 1;
+                    return;
+                }
+            }
+        }
+        throw new IllegalStateException("Cannot build perfect hash for " + kind + " names");
+    }
+
+    private static <T> boolean fill(Map<String, T> entries, int seed, int mask, String[] names, Object[] values) {
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            int slot = hash(entry.getKey(), seed) & mask;
+            if (names[slot] != null) {
+                if (names[slot].equalsIgnoreCase(entry.getKey())) {
+                    throw new IllegalArgumentException("Duplicate name: " + entry.getKey());
+                }
+                return false;
+            }
+            names[slot] = entry.getKey();
+            values[slot] = entry.getValue();
+        }
+        return true;
+    }
+
+    /*种子决定乘数，不同种子是不同的多项式哈希*/
+    private static int hash(String name, int seed) {
+        int multiplier = 31 + 2 * seed;
+        int hash = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hash = hash * multiplier + Character.toUpperCase(name.charAt(i));
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(String name) {
+        int slot = hash(name, seed) & mask;
+        String candidate = names[slot];
+        if (candidate == null || !candidate.equalsIgnoreCase(name)) {
+            throw new IllegalArgumentException("Unknown " + kind + ": " + name);
+        }
+        return (T) values[slot];
+    }
+
+    /**
+     * 批量查找：同一个名称在一批中只查一次，dest[i] 对应 names[i]，null 名称得到 null
+     */
+    public <R> void createAll(String[] names, R[] dest, Function<? super T, ? extends R> create) {
+        Map<String, T> resolved = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name == null) {
+                dest[i] = null;
+                continue;
+            }
+            T value = resolved.get(name);
+            if (value == null) {
+                value = get(name);
+                resolved.put(name, value);
+            }
+            dest[i] = create.apply(value);
+        }
+    }
+}
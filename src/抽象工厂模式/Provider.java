@@ -0,0 +1,17 @@
+package 抽象工厂模式;
+
+/**
+ * 可插拔的产品提供者
+ * <p>
+ * 新增产品时不再修改工厂：实现 ShapeProvider/ColorProvider（public 类，public 无参构造），
+ * 并在 META-INF/services/抽象工厂模式.ShapeProvider（或 ColorProvider）中登记类名即可。
+ */
+interface Provider<T> {
+
+    /**
+     * 产品名称，查找时不区分大小写
+     */
+    String name();
+
+    T create();
+}
@@ -0,0 +1,58 @@
+package 抽象工厂模式;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * 通过 ServiceLoader 发现提供者，并记录每个提供者的加载耗时
+ * 工厂在第一次使用时才调用 load()，没用到的产品族不会付出扫描的代价。
+ */
+final class ProviderLoader {
+
+    private static final Map<String, Long> startupNanos = Collections.synchronizedMap(new LinkedHashMap<String, Long>());
+
+    private ProviderLoader() {
+    }
+
+    /**
+     * 内置产品加上发现的提供者，编译成一个名称表；名称重复时抛出 IllegalArgumentException
+     * 提供者不能覆盖内置产品或先加载的提供者，完全相同的名称在这里就拒绝，只差大小写的由 NameRegistry 拒绝。
+     */
+    static <T> NameRegistry<Supplier<T>> load(String kind, Class<? extends Provider<T>> type,
+                                               Map<String, Supplier<T>> builtIns) {
+        long scanStart = System.nanoTime();
+        Map<String, Supplier<T>> entries = new HashMap<>(builtIns);
+
+        Iterator<? extends Provider<T>> providers = ServiceLoader.load(type).iterator();
+        while (true) {
+            long start = System.nanoTime();
+            if (!providers.hasNext()) {
+                break;
+            }
+            Provider<T> provider = providers.next();
+            startupNanos.put(provider.getClass().getName(), System.nanoTime() - start);
+            if (entries.putIfAbsent(provider.name(), provider::create) != null) {
+                throw new IllegalArgumentException("Duplicate " + kind + " name: " + provider.name()
+                        + " (" + provider.getClass().getName() + ")");
+            }
+        }
+
+        NameRegistry<Supplier<T>> registry = new NameRegistry<>(kind, entries);
+        startupNanos.put(type.getSimpleName() + " (total)", System.nanoTime() - scanStart);
+        return registry;
+    }
+
+    /**
+     * 每个提供者（以及每次扫描合计）的加载耗时，单位纳秒，按加载顺序排列
+     */
+    static Map<String, Long> startupNanos() {
+        synchronized (startupNanos) {
+            return new LinkedHashMap<>(startupNanos);
+        }
+    }
+}
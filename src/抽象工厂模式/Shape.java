@@ -0,0 +1,5 @@
+package 抽象工厂模式;
+
+interface Shape{
+    void draw();
+}
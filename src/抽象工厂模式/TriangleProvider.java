@@ -0,0 +1,25 @@
+package 抽象工厂模式;
+
+/**
+ * 通过 ServiceLoader 加入的产品示例，登记在 META-INF/services/抽象工厂模式.ShapeProvider
+ */
+public class TriangleProvider implements ShapeProvider {
+
+    static class Triangle implements Shape {
+
+        @Override
+        public void draw() {
+            System.out.println("Inside Triangle::draw() method.");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "TRIANGLE";
+    }
+
+    @Override
+    public Shape create() {
+        return new Triangle();
+    }
+}
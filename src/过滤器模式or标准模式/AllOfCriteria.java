@@ -0,0 +1,50 @@
+package 过滤器模式or标准模式;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * n 元的 与：依次用每个标准缩小结果集
+ */
+class AllOfCriteria implements Criteria {
+
+    private List<Criteria> criterias;
+
+    public AllOfCriteria(Criteria... criterias) {
+        this.criterias = Arrays.asList(criterias);
+    }
+
+    List<Criteria> getCriterias() {
+        return criterias;
+    }
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<Person> result = persons;
+        for (Criteria criteria : criterias) {
+            result = criteria.meetCriteria(result);
+        }
+        return result;
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        BitSet bitmap = new BitSet();
+        bitmap.set(0, table.size());
+        for (Criteria criteria : criterias) {
+            bitmap.and(criteria.meetCriteria(table));
+        }
+        return bitmap;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        for (Criteria criteria : criterias) {
+            if (!criteria.matches(person)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package 过滤器模式or标准模式;
+
+import java.util.BitSet;
+import java.util.List;
+
+class AndCriteria implements Criteria {
+
+    private Criteria criteria;
+    private Criteria otherCriteria;
+
+    public AndCriteria(Criteria criteria, Criteria otherCriteria) {
+        this.criteria = criteria;
+        this.otherCriteria = otherCriteria;
+    }
+
+    Criteria getCriteria() {
+        return criteria;
+    }
+
+    Criteria getOtherCriteria() {
+        return otherCriteria;
+    }
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<Person> firstCriteriaPersons = criteria.meetCriteria(persons);
+        return otherCriteria.meetCriteria(firstCriteriaPersons);
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        BitSet bitmap = criteria.meetCriteria(table);
+        bitmap.and(otherCriteria.meetCriteria(table));
+        return bitmap;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return criteria.matches(person) && otherCriteria.matches(person);
+    }
+}
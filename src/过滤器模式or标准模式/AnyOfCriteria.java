@@ -0,0 +1,77 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * n 元的 或：宽的 或 条件不必再嵌套成一串 OrCriteria
+ */
+class AnyOfCriteria implements Criteria {
+
+    private List<Criteria> criterias;
+
+    public AnyOfCriteria(Criteria... criterias) {
+        this.criterias = Arrays.asList(criterias);
+    }
+
+    List<Criteria> getCriterias() {
+        return criterias;
+    }
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<List<Person>> results = new ArrayList<List<Person>>(criterias.size());
+        for (Criteria criteria : criterias) {
+            results.add(criteria.meetCriteria(persons));
+        }
+        return union(results);
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        BitSet bitmap = new BitSet();
+        for (Criteria criteria : criterias) {
+            bitmap.or(criteria.meetCriteria(table));
+        }
+        return bitmap;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        for (Criteria criteria : criterias) {
+            if (criteria.matches(person)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 线性时间的并集：按各结果的先后顺序合并，用 IdentityHashMap 去重，
+     * 代替原来 List.contains() 的 O(n·m) 查找。
+     * Person 没有重写 equals()，按引用去重和原来的语义一致。
+     */
+    static List<Person> union(List<List<Person>> results) {
+        Set<Person> seen = Collections.newSetFromMap(new IdentityHashMap<Person, Boolean>());
+        List<Person> union = new ArrayList<Person>();
+        for (List<Person> result : results) {
+            for (Person person : result) {
+                if (seen.add(person)) {
+                    union.add(person);
+                }
+            }
+        }
+        return union;
+    }
+
+    static Set<Person> identitySet(List<Person> persons) {
+        Set<Person> set = Collections.newSetFromMap(new IdentityHashMap<Person, Boolean>(persons.size()));
+        set.addAll(persons);
+        return set;
+    }
+}
@@ -0,0 +1,31 @@
+package 过滤器模式or标准模式;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+interface Criteria {
+    public List<Person> meetCriteria(List<Person> persons);
+
+    /**
+     * 在列式表上求值，返回命中行的位图
+     */
+    public BitSet meetCriteria(PersonTable table);
+
+    /**
+     * 逐行判断，组合标准在这里融合成一个谓词，整棵树只需遍历一次输入
+     */
+    public boolean matches(Person person);
+
+    /**
+     * 流式过滤：惰性求值，不产生中间 List，输入可以比堆更大
+     */
+    public default Stream<Person> filter(Stream<Person> persons) {
+        return persons.filter(this::matches);
+    }
+
+    public default Stream<Person> filter(Iterable<Person> persons) {
+        return filter(StreamSupport.stream(persons.spliterator(), false));
+    }
+}
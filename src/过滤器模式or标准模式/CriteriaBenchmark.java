@@ -0,0 +1,91 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 串行和 ParallelCriteria 的简单对比
+ * 先预热，再各跑若干轮取平均耗时，输出每轮的毫秒数。
+ * 注意：ParallelCriteria 按块求值，每块的 OrCriteria 去重集合更小，单核上也可能比串行快，
+ * 这部分收益不来自并行；并行的收益要在多核机器上对比。
+ * 查询中含有 OrCriteria，ParallelCriteria 的结果与串行的元素相同但顺序不同，parallel 一行会把这点一并输出。
+ */
+public class CriteriaBenchmark {
+
+    private static final int PERSONS = 2_000_000;
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 10;
+
+    /**
+     * 不带参数时为每种方式单独启动一个 JVM，避免先运行的一方影响 JIT 和堆的状态；
+     * 参数 sequential 或 parallel 时只测量那一种。
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            String java = System.getProperty("java.home") + "/bin/java";
+            String classpath = System.getProperty("java.class.path");
+            for (String variant : new String[]{"sequential", "parallel"}) {
+                new ProcessBuilder(java, "-cp", classpath, CriteriaBenchmark.class.getName(), variant)
+                        .inheritIO()
+                        .start()
+                        .waitFor();
+            }
+            return;
+        }
+
+        List<Person> persons = randomPersons(PERSONS);
+        Criteria singleOrFemale = new OrCriteria(new CriteriaSingle(), new CriteriaFemale());
+        Criteria query = new AndCriteria(singleOrFemale, new NotCriteria(new CriteriaMale()));
+        String order = "";
+        if (args[0].equalsIgnoreCase("parallel")) {
+            Criteria parallel = new ParallelCriteria(query);
+            order = compareOrder(query.meetCriteria(persons), parallel.meetCriteria(persons));
+            query = parallel;
+        }
+        System.out.printf("%-10s : %.2f ms/op (%d cpus)%s%n", args[0], run(query, persons),
+                Runtime.getRuntime().availableProcessors(), order);
+    }
+
+    /*同一查询的串行和并行结果：元素是否相同，顺序是否相同*/
+    private static String compareOrder(List<Person> sequential, List<Person> parallel) {
+        Set<Person> expected = Collections.newSetFromMap(new IdentityHashMap<Person, Boolean>());
+        expected.addAll(sequential);
+        Set<Person> actual = Collections.newSetFromMap(new IdentityHashMap<Person, Boolean>());
+        actual.addAll(parallel);
+        return String.format(", same elements as sequential: %b, same order: %b",
+                sequential.size() == parallel.size() && expected.equals(actual), sequential.equals(parallel));
+    }
+
+    private static double run(Criteria criteria, List<Person> persons) {
+        for (int i = 0; i < WARMUP; i++) {
+            criteria.meetCriteria(persons);
+        }
+        long start = System.nanoTime();
+        int hits = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            hits += criteria.meetCriteria(persons).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (hits < 0) {
+            System.out.println(hits);
+        }
+        return elapsed / 1e6 / ROUNDS;
+    }
+
+    static List<Person> randomPersons(int count) {
+        String[] genders = {"Male", "Female"};
+        String[] statuses = {"Single", "Married"};
+        Random random = new Random(42);
+        List<Person> persons = new ArrayList<Person>(count);
+        for (int i = 0; i < count; i++) {
+            persons.add(new Person("P" + i,
+                    genders[random.nextInt(genders.length)],
+                    statuses[random.nextInt(statuses.length)]));
+        }
+        return persons;
+    }
+}
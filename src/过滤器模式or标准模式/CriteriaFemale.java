@@ -0,0 +1,29 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+class CriteriaFemale implements Criteria {
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<Person> femalePersons = new ArrayList<Person>();
+        for (Person person : persons) {
+            if(matches(person)){
+                femalePersons.add(person);
+            }
+        }
+        return femalePersons;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return person.gender() == Gender.FEMALE;
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        return table.genderBitmap(Gender.FEMALE);
+    }
+}
@@ -0,0 +1,29 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+class CriteriaMale implements Criteria {
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<Person> malePersons = new ArrayList<Person>();
+        for (Person person : persons) {
+            if(matches(person)){
+                malePersons.add(person);
+            }
+        }
+        return malePersons;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return person.gender() == Gender.MALE;
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        return table.genderBitmap(Gender.MALE);
+    }
+}
@@ -0,0 +1,271 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 标准树的查询规划器
+ * <p>
+ * 在一份 Person 样本上统计每个叶子标准的选择度（命中比例），然后改写标准树：
+ * 1. 把嵌套的 AndCriteria/AllOfCriteria、OrCriteria/AnyOfCriteria 压平成 n 元节点；
+ * 2. 去掉同一节点下重复的子树（a AND a = a，a OR a = a），消去双重否定；
+ * 3. 与 节点按 cost / (1 - selectivity) 升序排列，最能缩小结果的条件先求值；
+ * 或 节点按 cost / selectivity 升序排列，最容易命中的条件先求值。
+ * 编译结果按规范化的树结构缓存，写法不同但等价（只是子条件顺序不同）的表达式共用一个计划。
+ * <p>
+ * 统计信息在构造时采集，数据分布变化较大时应重新创建规划器。
+ * <p>
+ * 计划和选择度缓存最多保留 MAX_CACHED 项，按最近使用淘汰。
+ * 其他有状态的叶子标准按对象身份区分，编号只增不减、不会重复；编号表满了就清空，
+ * 之后同一个叶子会拿到新编号，代价只是缓存不命中。
+ */
+class CriteriaPlanner {
+
+    private static final int SAMPLE_SIZE = 10_000;
+    private static final int MAX_CACHED = 1024;
+
+    private final List<Person> sample;
+    private final Map<String, Double> selectivities = lruCache();
+    private final Map<String, Criteria> plans = lruCache();
+    private final Map<Criteria, Long> leafIds = new IdentityHashMap<Criteria, Long>();
+    private long nextLeafId;
+
+    public CriteriaPlanner(List<Person> persons) {
+        this.sample = sample(persons);
+    }
+
+    private static <V> Map<String, V> lruCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > MAX_CACHED;
+            }
+        });
+    }
+
+    /**
+     * 均匀间隔地抽取最多 SAMPLE_SIZE 个 Person
+     */
+    private static List<Person> sample(List<Person> persons) {
+        if (persons.size() <= SAMPLE_SIZE) {
+            return new ArrayList<Person>(persons);
+        }
+        List<Person> sample = new ArrayList<Person>(SAMPLE_SIZE);
+        double step = (double) persons.size() / SAMPLE_SIZE;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            sample.add(persons.get((int) (i * step)));
+        }
+        return sample;
+    }
+
+    public Criteria plan(Criteria criteria) {
+        String key = key(criteria);
+        Criteria plan = plans.get(key);
+        if (plan == null) {
+            plan = compile(criteria).criteria;
+            plans.put(key, plan);
+        }
+        return plan;
+    }
+
+    /**
+     * 计划的可读形式，便于排查
+     */
+    public String describe(Criteria criteria) {
+        return key(criteria, false);
+    }
+
+    private Plan compile(Criteria criteria) {
+        if (criteria instanceof AndCriteria || criteria instanceof AllOfCriteria) {
+            List<Plan> children = compileAll(flatten(criteria, true));
+            Collections.sort(children, new Comparator<Plan>() {
+                @Override
+                public int compare(Plan a, Plan b) {
+                    return Double.compare(a.cost / Math.max(1 - a.selectivity, 1e-9),
+                            b.cost / Math.max(1 - b.selectivity, 1e-9));
+                }
+            });
+            if (children.size() == 1) {
+                return children.get(0);
+            }
+            double selectivity = 1;
+            double cost = 0;
+            for (Plan child : children) {
+                cost += selectivity * child.cost;
+                selectivity *= child.selectivity;
+            }
+            return new Plan(new AllOfCriteria(criterias(children)), selectivity, cost);
+        }
+        if (criteria instanceof OrCriteria || criteria instanceof AnyOfCriteria) {
+            List<Plan> children = compileAll(flatten(criteria, false));
+            Collections.sort(children, new Comparator<Plan>() {
+                @Override
+                public int compare(Plan a, Plan b) {
+                    return Double.compare(a.cost / Math.max(a.selectivity, 1e-9),
+                            b.cost / Math.max(b.selectivity, 1e-9));
+                }
+            });
+            if (children.size() == 1) {
+                return children.get(0);
+            }
+            double miss = 1;
+            double cost = 0;
+            for (Plan child : children) {
+                cost += miss * child.cost;
+                miss *= 1 - child.selectivity;
+            }
+            return new Plan(new AnyOfCriteria(criterias(children)), 1 - miss, cost);
+        }
+        if (criteria instanceof NotCriteria) {
+            Criteria inner = ((NotCriteria) criteria).getCriteria();
+            if (inner instanceof NotCriteria) {
+                return compile(((NotCriteria) inner).getCriteria());
+            }
+            Plan plan = compile(inner);
+            return new Plan(new NotCriteria(plan.criteria), 1 - plan.selectivity, plan.cost);
+        }
+        return new Plan(criteria, selectivity(criteria), 1);
+    }
+
+    /**
+     * 编译子条件，并按规范化结构去掉重复的子树
+     */
+    private List<Plan> compileAll(List<Criteria> criterias) {
+        Map<String, Plan> unique = new LinkedHashMap<String, Plan>();
+        for (Criteria criteria : criterias) {
+            String key = key(criteria);
+            if (!unique.containsKey(key)) {
+                unique.put(key, compile(criteria));
+            }
+        }
+        return new ArrayList<Plan>(unique.values());
+    }
+
+    private static List<Criteria> flatten(Criteria criteria, boolean and) {
+        List<Criteria> flat = new ArrayList<Criteria>();
+        flatten(criteria, and, flat);
+        return flat;
+    }
+
+    private static void flatten(Criteria criteria, boolean and, List<Criteria> flat) {
+        if (and && criteria instanceof AndCriteria) {
+            flatten(((AndCriteria) criteria).getCriteria(), true, flat);
+            flatten(((AndCriteria) criteria).getOtherCriteria(), true, flat);
+        } else if (and && criteria instanceof AllOfCriteria) {
+            for (Criteria child : ((AllOfCriteria) criteria).getCriterias()) {
+                flatten(child, true, flat);
+            }
+        } else if (!and && criteria instanceof OrCriteria) {
+            flatten(((OrCriteria) criteria).getCriteria(), false, flat);
+            flatten(((OrCriteria) criteria).getOtherCriteria(), false, flat);
+        } else if (!and && criteria instanceof AnyOfCriteria) {
+            for (Criteria child : ((AnyOfCriteria) criteria).getCriterias()) {
+                flatten(child, false, flat);
+            }
+        } else {
+            flat.add(criteria);
+        }
+    }
+
+    private double selectivity(Criteria leaf) {
+        String key = key(leaf);
+        Double selectivity = selectivities.get(key);
+        if (selectivity == null) {
+            if (sample.isEmpty()) {
+                selectivity = 0.5;
+            } else {
+                int hits = 0;
+                for (Person person : sample) {
+                    if (leaf.matches(person)) {
+                        hits++;
+                    }
+                }
+                selectivity = (double) hits / sample.size();
+            }
+            selectivities.put(key, selectivity);
+        }
+        return selectivity;
+    }
+
+    private static Criteria[] criterias(List<Plan> plans) {
+        Criteria[] criterias = new Criteria[plans.size()];
+        for (int i = 0; i < criterias.length; i++) {
+            criterias[i] = plans.get(i).criteria;
+        }
+        return criterias;
+    }
+
+    private String key(Criteria criteria) {
+        return key(criteria, true);
+    }
+
+    /**
+     * 树结构的字符串形式
+     * canonical 为 true 时子条件按字典序排列，用作去重和计划缓存的键
+     */
+    private String key(Criteria criteria, boolean canonical) {
+        if (criteria instanceof AndCriteria || criteria instanceof AllOfCriteria) {
+            return "AND" + keys(flatten(criteria, true), canonical);
+        }
+        if (criteria instanceof OrCriteria || criteria instanceof AnyOfCriteria) {
+            return "OR" + keys(flatten(criteria, false), canonical);
+        }
+        if (criteria instanceof NotCriteria) {
+            return "NOT(" + key(((NotCriteria) criteria).getCriteria(), canonical) + ")";
+        }
+        if (criteria instanceof CriteriaMale || criteria instanceof CriteriaFemale
+                || criteria instanceof CriteriaSingle) {
+            /*无状态的叶子，同一类型即同一条件*/
+            return criteria.getClass().getSimpleName();
+        }
+        return criteria.getClass().getSimpleName() + "#" + leafId(criteria);
+    }
+
+    /**
+     * identityHashCode 可能重复，不同的叶子会被当成同一条件；这里按身份分配唯一编号
+     */
+    private synchronized long leafId(Criteria leaf) {
+        Long id = leafIds.get(leaf);
+        if (id == null) {
+            if (leafIds.size() >= MAX_CACHED) {
+                leafIds.clear();
+            }
+            id = nextLeafId++;
+            leafIds.put(leaf, id);
+        }
+        return id;
+    }
+
+    private String keys(List<Criteria> criterias, boolean canonical) {
+        List<String> keys = new ArrayList<String>(criterias.size());
+        for (Criteria criteria : criterias) {
+            String key = key(criteria, canonical);
+            if (!canonical || !keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        if (canonical) {
+            Collections.sort(keys);
+        }
+        return keys.toString();
+    }
+
+    private static class Plan {
+        final Criteria criteria;
+        final double selectivity;
+        final double cost;
+
+        Plan(Criteria criteria, double selectivity, double cost) {
+            this.criteria = criteria;
+            this.selectivity = selectivity;
+            this.cost = cost;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+class CriteriaSingle implements Criteria {
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<Person> singlePersons = new ArrayList<Person>();
+        for (Person person : persons) {
+            if(matches(person)){
+                singlePersons.add(person);
+            }
+        }
+        return singlePersons;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return person.maritalStatus() == MaritalStatus.SINGLE;
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        return table.maritalStatusBitmap(MaritalStatus.SINGLE);
+    }
+}
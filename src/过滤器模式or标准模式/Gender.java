@@ -0,0 +1,34 @@
+package 过滤器模式or标准模式;
+
+/**
+ * 性别
+ * 构造 Person 时统一解析成枚举，标准比较时只需一次引用比较，不再逐字符 equalsIgnoreCase。
+ * 文件里可能出现预料之外的取值，统一归为 OTHER，原始字符串由 Person 自己保留。
+ */
+enum Gender {
+    MALE("Male"), FEMALE("Female"), OTHER(null);
+
+    private static final Gender[] VALUES = values();
+
+    private final String label;
+
+    Gender(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * 不区分大小写地解析，未知取值（包括 null）返回 OTHER
+     */
+    public static Gender of(String gender) {
+        for (Gender value : VALUES) {
+            if (value != OTHER && value.label.equalsIgnoreCase(gender)) {
+                return value;
+            }
+        }
+        return OTHER;
+    }
+}
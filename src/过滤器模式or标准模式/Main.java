@@ -1,115 +1,36 @@
 package 过滤器模式or标准模式;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-
-class Person {
-
-    private String name;
-    private String gender;
-    private String maritalStatus;
-
-    public Person(String name,String gender,String maritalStatus){
-        this.name = name;
-        this.gender = gender;
-        this.maritalStatus = maritalStatus;
-    }
-
-    public String getName() {
-        return name;
-    }
-    public String getGender() {
-        return gender;
-    }
-    public String getMaritalStatus() {
-        return maritalStatus;
-    }
-}
-
-interface Criteria {
-    public List<Person> meetCriteria(List<Person> persons);
-}
-
-class CriteriaMale implements Criteria {
-
-    @Override
-    public List<Person> meetCriteria(List<Person> persons) {
-        List<Person> malePersons = new ArrayList<Person>();
-        for (Person person : persons) {
-            if(person.getGender().equalsIgnoreCase("MALE")){
-                malePersons.add(person);
-            }
-        }
-        return malePersons;
-    }
-}
-
-class CriteriaFemale implements Criteria {
-
-    @Override
-    public List<Person> meetCriteria(List<Person> persons) {
-        List<Person> femalePersons = new ArrayList<Person>();
-        for (Person person : persons) {
-            if(person.getGender().equalsIgnoreCase("FEMALE")){
-                femalePersons.add(person);
-            }
+import java.util.stream.Stream;
+
+/**
+ * 从文件中惰性读取 Person，每行格式：name,gender,maritalStatus
+ * 返回的 Stream 持有文件句柄，需要用 try-with-resources 关闭
+ */
+class PersonFiles {
+
+    public static Stream<Person> lines(Path path) {
+        try {
+            return Files.lines(path, StandardCharsets.UTF_8)
+                    .filter(line -> !line.trim().isEmpty())
+                    .map(PersonFiles::parse);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        return femalePersons;
     }
-}
 
-class CriteriaSingle implements Criteria {
-
-    @Override
-    public List<Person> meetCriteria(List<Person> persons) {
-        List<Person> singlePersons = new ArrayList<Person>();
-        for (Person person : persons) {
-            if(person.getMaritalStatus().equalsIgnoreCase("SINGLE")){
-                singlePersons.add(person);
-            }
+    static Person parse(String line) {
+        String[] fields = line.split(",");
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Bad person line: " + line);
         }
-        return singlePersons;
-    }
-}
-
-class AndCriteria implements Criteria {
-
-    private Criteria criteria;
-    private Criteria otherCriteria;
-
-    public AndCriteria(Criteria criteria, Criteria otherCriteria) {
-        this.criteria = criteria;
-        this.otherCriteria = otherCriteria;
-    }
-
-    @Override
-    public List<Person> meetCriteria(List<Person> persons) {
-        List<Person> firstCriteriaPersons = criteria.meetCriteria(persons);
-        return otherCriteria.meetCriteria(firstCriteriaPersons);
-    }
-}
-
-class OrCriteria implements Criteria {
-
-    private Criteria criteria;
-    private Criteria otherCriteria;
-
-    public OrCriteria(Criteria criteria, Criteria otherCriteria) {
-        this.criteria = criteria;
-        this.otherCriteria = otherCriteria;
-    }
-
-    @Override
-    public List<Person> meetCriteria(List<Person> persons) {
-        List<Person> firstCriteriaItems = criteria.meetCriteria(persons);
-        List<Person> otherCriteriaItems = otherCriteria.meetCriteria(persons);
-
-        for (Person person : otherCriteriaItems) {
-            if(!firstCriteriaItems.contains(person)){
-                firstCriteriaItems.add(person);
-            }
-        }
-        return firstCriteriaItems;
+        return new Person(fields[0].trim(), fields[1].trim(), fields[2].trim());
     }
 }
 
@@ -129,6 +50,8 @@ public class Main {
         Criteria single = new CriteriaSingle();
         Criteria singleMale = new AndCriteria(single, male);
         Criteria singleOrFemale = new OrCriteria(single, female);
+        Criteria notSingle = new NotCriteria(single);
+        Criteria singleOrFemaleOrMale = new AnyOfCriteria(single, female, male);
 
         System.out.println("Males: ");
         printPersons(male.meetCriteria(persons));
@@ -141,6 +64,40 @@ public class Main {
 
         System.out.println("\nSingle Or Females: ");
         printPersons(singleOrFemale.meetCriteria(persons));
+
+        System.out.println("\nNot Single: ");
+        printPersons(notSingle.meetCriteria(persons));
+
+        System.out.println("\nSingle Or Female Or Male: ");
+        printPersons(singleOrFemaleOrMale.meetCriteria(persons));
+
+        /*查询规划：按选择度重排子条件，压平嵌套并去掉重复子树*/
+        CriteriaPlanner planner = new CriteriaPlanner(persons);
+        Criteria planned = planner.plan(new AndCriteria(single, new AndCriteria(male, single)));
+        System.out.println("\nSingle Males (planned " + planner.describe(planned) + "): ");
+        printPersons(planned.meetCriteria(persons));
+
+        /*实时视图：之后的增删只增量更新结果*/
+        PersonStore store = new PersonStore(persons);
+        PersonStore.LiveView singleMaleView = store.register(singleMale);
+        Person mike = persons.get(4);
+        store.update(mike, new Person("Mike", "Male", "Married"));
+        store.add(new Person("Tom", "Male", "Single"));
+        System.out.println("\nSingle Males (live view): ");
+        printPersons(new ArrayList<Person>(singleMaleView.getPersons()));
+
+        /*流式求值，AndCriteria 融合成一次遍历*/
+        System.out.println("\nSingle Males (stream): ");
+        singleMale.filter(persons).forEach(person -> System.out.println("Person : " + person.getName()));
+
+        /*列式位图求值，结果与上面一致*/
+        PersonTable table = new PersonTable(persons);
+
+        System.out.println("\nSingle Males (bitmap): ");
+        printPersons(table.materialize(singleMale.meetCriteria(table)));
+
+        System.out.println("\nSingle Or Females (bitmap): ");
+        printPersons(table.materialize(singleOrFemale.meetCriteria(table)));
     }
 
     public static void printPersons(List<Person> persons){
@@ -0,0 +1,29 @@
+package 过滤器模式or标准模式;
+
+/**
+ * 婚姻状况，同 Gender
+ */
+enum MaritalStatus {
+    SINGLE("Single"), MARRIED("Married"), DIVORCED("Divorced"), WIDOWED("Widowed"), OTHER(null);
+
+    private static final MaritalStatus[] VALUES = values();
+
+    private final String label;
+
+    MaritalStatus(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static MaritalStatus of(String maritalStatus) {
+        for (MaritalStatus value : VALUES) {
+            if (value != OTHER && value.label.equalsIgnoreCase(maritalStatus)) {
+                return value;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,46 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 取反：不满足给定标准的 Person，保持输入顺序
+ */
+class NotCriteria implements Criteria {
+
+    private Criteria criteria;
+
+    public NotCriteria(Criteria criteria) {
+        this.criteria = criteria;
+    }
+
+    Criteria getCriteria() {
+        return criteria;
+    }
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        Set<Person> excluded = AnyOfCriteria.identitySet(criteria.meetCriteria(persons));
+        List<Person> notPersons = new ArrayList<Person>();
+        for (Person person : persons) {
+            if (!excluded.contains(person)) {
+                notPersons.add(person);
+            }
+        }
+        return notPersons;
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        BitSet bitmap = criteria.meetCriteria(table);
+        bitmap.flip(0, table.size());
+        return bitmap;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return !criteria.matches(person);
+    }
+}
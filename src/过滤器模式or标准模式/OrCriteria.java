@@ -0,0 +1,43 @@
+package 过滤器模式or标准模式;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+class OrCriteria implements Criteria {
+
+    private Criteria criteria;
+    private Criteria otherCriteria;
+
+    public OrCriteria(Criteria criteria, Criteria otherCriteria) {
+        this.criteria = criteria;
+        this.otherCriteria = otherCriteria;
+    }
+
+    Criteria getCriteria() {
+        return criteria;
+    }
+
+    Criteria getOtherCriteria() {
+        return otherCriteria;
+    }
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        List<Person> firstCriteriaItems = criteria.meetCriteria(persons);
+        List<Person> otherCriteriaItems = otherCriteria.meetCriteria(persons);
+        return AnyOfCriteria.union(Arrays.asList(firstCriteriaItems, otherCriteriaItems));
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        BitSet bitmap = criteria.meetCriteria(table);
+        bitmap.or(otherCriteria.meetCriteria(table));
+        return bitmap;
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return criteria.matches(person) || otherCriteria.matches(person);
+    }
+}
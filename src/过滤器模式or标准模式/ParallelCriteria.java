@@ -0,0 +1,86 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 并行求值：把 List 切成若干段，在 ForkJoinPool 上对每段求值整棵标准树，再按段的先后拼接各段的结果。
+ * 小于 threshold 的输入直接走原来的串行路径。
+ * 注意结果只保证元素集合与串行求值一致，不保证顺序：树中含有 OrCriteria 时，
+ * 串行结果是"整个列表满足第一个标准的，再接上满足第二个标准的"，并行结果则是每一段各自这样排列后再拼接，
+ * 两者的顺序不同。需要串行顺序的调用方不要使用这个装饰器。
+ */
+class ParallelCriteria implements Criteria {
+
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+    private Criteria criteria;
+    private ForkJoinPool pool;
+    private int threshold;
+
+    public ParallelCriteria(Criteria criteria) {
+        this(criteria, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelCriteria(Criteria criteria, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        }
+        this.criteria = criteria;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public List<Person> meetCriteria(List<Person> persons) {
+        if (persons.size() <= threshold) {
+            return criteria.meetCriteria(persons);
+        }
+        return pool.invoke(new ChunkTask(persons, 0, persons.size()));
+    }
+
+    @Override
+    public BitSet meetCriteria(PersonTable table) {
+        return criteria.meetCriteria(table);
+    }
+
+    @Override
+    public boolean matches(Person person) {
+        return criteria.matches(person);
+    }
+
+    private class ChunkTask extends RecursiveTask<List<Person>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<Person> persons;
+        private final int from;
+        private final int to;
+
+        ChunkTask(List<Person> persons, int from, int to) {
+            this.persons = persons;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Person> compute() {
+            if (to - from <= threshold) {
+                List<Person> chunk = persons.subList(from, to);
+                List<Person> result = criteria.meetCriteria(chunk);
+                /*结果可能就是输入的子列表本身（例如空的 AllOfCriteria），合并时不能往里追加*/
+                return result == chunk ? new ArrayList<Person>(chunk) : result;
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(persons, from, middle);
+            ChunkTask right = new ChunkTask(persons, middle, to);
+            right.fork();
+            List<Person> result = left.compute();
+            result.addAll(right.join());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package 过滤器模式or标准模式;
+
+/**
+ * gender 和 maritalStatus 只保存枚举引用，相同取值的 Person 不再各自持有一份 String
+ * 只有取值为 OTHER 时才保存原始字符串，getter 原样返回，和改动前的行为一致。
+ */
+class Person {
+
+    private String name;
+    private Gender gender;
+    private MaritalStatus maritalStatus;
+    private String otherGender;
+    private String otherMaritalStatus;
+
+    public Person(String name,String gender,String maritalStatus){
+        this(name, Gender.of(gender), MaritalStatus.of(maritalStatus));
+        if (this.gender == Gender.OTHER) {
+            this.otherGender = gender;
+        }
+        if (this.maritalStatus == MaritalStatus.OTHER) {
+            this.otherMaritalStatus = maritalStatus;
+        }
+    }
+
+    public Person(String name, Gender gender, MaritalStatus maritalStatus) {
+        this.name = name;
+        this.gender = gender;
+        this.maritalStatus = maritalStatus;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public String getGender() {
+        return gender == Gender.OTHER ? otherGender : gender.getLabel();
+    }
+    public String getMaritalStatus() {
+        return maritalStatus == MaritalStatus.OTHER ? otherMaritalStatus : maritalStatus.getLabel();
+    }
+
+    public Gender gender() {
+        return gender;
+    }
+
+    public MaritalStatus maritalStatus() {
+        return maritalStatus;
+    }
+}
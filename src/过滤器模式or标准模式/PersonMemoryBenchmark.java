@@ -0,0 +1,67 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 每个 Person 占用的堆内存：String 属性 vs 枚举属性
+ * 模拟从文件读入的场景，每行的 gender/maritalStatus 都是新的 String 对象。
+ * 数值来自 GC 后的堆占用差值，只作量级参考。
+ */
+public class PersonMemoryBenchmark {
+
+    private static final int PERSONS = 1_000_000;
+
+    /**
+     * 改动前的 Person：三个独立的 String
+     */
+    static class StringPerson {
+        private String name;
+        private String gender;
+        private String maritalStatus;
+
+        StringPerson(String name, String gender, String maritalStatus) {
+            this.name = name;
+            this.gender = gender;
+            this.maritalStatus = maritalStatus;
+        }
+    }
+
+    public static void main(String[] args) {
+        long before = usedHeap();
+        List<Object> strings = new ArrayList<Object>(PERSONS);
+        for (int i = 0; i < PERSONS; i++) {
+            strings.add(new StringPerson("P" + i, gender(i), maritalStatus(i)));
+        }
+        long stringBytes = usedHeap() - before;
+        strings = null;
+
+        before = usedHeap();
+        List<Object> enums = new ArrayList<Object>(PERSONS);
+        for (int i = 0; i < PERSONS; i++) {
+            enums.add(new Person("P" + i, gender(i), maritalStatus(i)));
+        }
+        long enumBytes = usedHeap() - before;
+
+        System.out.printf("String attributes : %d bytes/person%n", stringBytes / PERSONS);
+        System.out.printf("enum attributes   : %d bytes/person%n", enumBytes / PERSONS);
+        System.out.println("persons: " + enums.size());
+    }
+
+    /*new String 模拟逐行解析出来的字符串*/
+    private static String gender(int i) {
+        return new String(i % 2 == 0 ? "Male" : "Female");
+    }
+
+    private static String maritalStatus(int i) {
+        return new String(i % 3 == 0 ? "Single" : "Married");
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
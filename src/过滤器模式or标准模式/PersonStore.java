@@ -0,0 +1,123 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 可增删改的 Person 集合，支持注册"实时"标准视图
+ * <p>
+ * 视图在注册时求值一次，之后只根据每次变更的 Person 用 Criteria.matches() 增量维护，
+ * 读取视图不需要重新扫描整个集合。
+ * Person 没有重写 equals()，集合按引用区分 Person。
+ * 非线程安全，多线程使用时需要外部同步。
+ */
+class PersonStore {
+
+    private final Set<Person> persons = new LinkedHashSet<Person>();
+    private final List<LiveView> views = new ArrayList<LiveView>();
+
+    public PersonStore() {
+    }
+
+    public PersonStore(List<Person> persons) {
+        this.persons.addAll(persons);
+    }
+
+    public boolean add(Person person) {
+        if (!persons.add(person)) {
+            return false;
+        }
+        for (LiveView view : views) {
+            view.onAdd(person);
+        }
+        return true;
+    }
+
+    public boolean remove(Person person) {
+        if (!persons.remove(person)) {
+            return false;
+        }
+        for (LiveView view : views) {
+            view.onRemove(person);
+        }
+        return true;
+    }
+
+    /**
+     * Person 不可变，更新即用新对象替换旧对象
+     */
+    public boolean update(Person oldPerson, Person newPerson) {
+        if (!remove(oldPerson)) {
+            return false;
+        }
+        add(newPerson);
+        return true;
+    }
+
+    public List<Person> getPersons() {
+        return new ArrayList<Person>(persons);
+    }
+
+    public int size() {
+        return persons.size();
+    }
+
+    /**
+     * 注册视图，只在此时完整扫描一次
+     */
+    public LiveView register(Criteria criteria) {
+        LiveView view = new LiveView(criteria);
+        for (Person person : persons) {
+            view.onAdd(person);
+        }
+        views.add(view);
+        return view;
+    }
+
+    public void unregister(LiveView view) {
+        views.remove(view);
+    }
+
+    /**
+     * 增量维护的结果集
+     * 结果顺序是 Person 进入视图的先后，与 meetCriteria 的顺序不一定相同
+     */
+    static class LiveView {
+
+        private final Criteria criteria;
+        private final Set<Person> persons = new LinkedHashSet<Person>();
+        private final Set<Person> readOnly = Collections.unmodifiableSet(persons);
+
+        private LiveView(Criteria criteria) {
+            this.criteria = criteria;
+        }
+
+        private void onAdd(Person person) {
+            if (criteria.matches(person)) {
+                persons.add(person);
+            }
+        }
+
+        private void onRemove(Person person) {
+            persons.remove(person);
+        }
+
+        public Criteria getCriteria() {
+            return criteria;
+        }
+
+        /**
+         * O(1)，返回只读视图，随 PersonStore 的变更而变化
+         */
+        public Set<Person> getPersons() {
+            return readOnly;
+        }
+
+        public int size() {
+            return persons.size();
+        }
+    }
+}
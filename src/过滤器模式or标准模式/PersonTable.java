@@ -0,0 +1,58 @@
+package 过滤器模式or标准模式;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 列式存储的 Person 表
+ * gender 和 maritalStatus 按枚举序号编码，每个取值维护一个位图（BitSet），
+ * 位图下标即行号。标准在表上求值时只做位图的 与/或 运算，最后再按行号取出 Person。
+ */
+class PersonTable {
+
+    private final List<Person> rows;
+    private final BitSet[] genderBitmaps = newBitmaps(Gender.values().length);
+    private final BitSet[] maritalStatusBitmaps = newBitmaps(MaritalStatus.values().length);
+
+    public PersonTable(List<Person> persons) {
+        this.rows = new ArrayList<Person>(persons);
+        for (int row = 0; row < rows.size(); row++) {
+            Person person = rows.get(row);
+            genderBitmaps[person.gender().ordinal()].set(row);
+            maritalStatusBitmaps[person.maritalStatus().ordinal()].set(row);
+        }
+    }
+
+    private static BitSet[] newBitmaps(int count) {
+        BitSet[] bitmaps = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new BitSet();
+        }
+        return bitmaps;
+    }
+
+    /*返回副本，调用方可以直接在上面做 and/or*/
+    public BitSet genderBitmap(Gender gender) {
+        return (BitSet) genderBitmaps[gender.ordinal()].clone();
+    }
+
+    public BitSet maritalStatusBitmap(MaritalStatus maritalStatus) {
+        return (BitSet) maritalStatusBitmaps[maritalStatus.ordinal()].clone();
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * 只在最后一步按位图取出命中的行
+     */
+    public List<Person> materialize(BitSet bitmap) {
+        List<Person> persons = new ArrayList<Person>(bitmap.cardinality());
+        for (int row = bitmap.nextSetBit(0); row >= 0; row = bitmap.nextSetBit(row + 1)) {
+            persons.add(rows.get(row));
+        }
+        return persons;
+    }
+}